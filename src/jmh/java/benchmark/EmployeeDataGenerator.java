@@ -0,0 +1,61 @@
+package benchmark;
+
+import org.example.model.Person;
+import org.example.repository.PersonXmlWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class EmployeeDataGenerator {
+
+    static final String[] FIRST_NAMES = {
+            "Anna", "Piotr", "Katarzyna", "Krzysztof", "Maria", "Tomasz", "Agnieszka", "Pawel", "Ewa", "Michal"
+    };
+    static final String[] LAST_NAMES = {
+            "Nowak", "Kowalski", "Wisniewski", "Wojcik", "Kowalczyk", "Kaminski", "Lewandowski", "Zielinski",
+            "Szymanski", "Wozniak", "Dabrowski", "Kozlowski", "Jankowski", "Mazur", "Kwiatkowski", "Krawczyk"
+    };
+    static final String[] DOMAINS = {"example.com", "corp.example.com", "contractor.example.org"};
+
+    private final long seed;
+
+    public EmployeeDataGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    public Person person(int ordinal) {
+        SplittableRandom random = new SplittableRandom(seed + ordinal);
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        String mobile = String.valueOf(500_000_000 + random.nextInt(400_000_000));
+        String email = (firstName + "." + lastName + ordinal).toLowerCase() + "@" + DOMAINS[random.nextInt(DOMAINS.length)];
+        String pesel = String.format("%02d%02d%02d%05d", 50 + random.nextInt(50), 1 + random.nextInt(12),
+                1 + random.nextInt(28), random.nextInt(100_000));
+        return new Person(String.valueOf(ordinal), firstName, lastName, mobile, email, pesel, random.nextInt(4) != 0);
+    }
+
+    public void populate(Path internalDir, Path externalDir, int count) throws IOException {
+        Files.createDirectories(internalDir);
+        Files.createDirectories(externalDir);
+        PersonXmlWriter writer = new PersonXmlWriter();
+        IntStream.range(0, count).parallel().forEach(ordinal -> {
+            Person employee = person(ordinal);
+            Path directory = employee.isInternal() ? internalDir : externalDir;
+            writer.write(employee, directory.resolve(employee.getPersonId() + ".xml"));
+        });
+    }
+
+    public static void deleteRecursively(Path root) throws IOException {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
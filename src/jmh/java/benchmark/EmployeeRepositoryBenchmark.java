@@ -0,0 +1,104 @@
+package benchmark;
+
+import org.example.model.Person;
+import org.example.repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EmployeeRepositoryBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int employees;
+
+    private final EmployeeDataGenerator generator = new EmployeeDataGenerator(42);
+    private final AtomicInteger nextId = new AtomicInteger();
+    private Path root;
+    private EmployeeRepository repository;
+
+    @Setup(Level.Trial)
+    public void populate() throws IOException {
+        root = Files.createTempDirectory("employee-benchmark");
+        generator.populate(root.resolve("internal"), root.resolve("external"), employees);
+        repository = new EmployeeRepository(root.resolve("internal").toString(), root.resolve("external").toString());
+        nextId.set(employees);
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() throws IOException {
+        repository.close();
+        EmployeeDataGenerator.deleteRecursively(root);
+    }
+
+    @Benchmark
+    public List<Person> pointLookup() {
+        return repository.find(Map.of(EmployeeRepository.PERSON_ID, randomExistingId()));
+    }
+
+    @Benchmark
+    public List<Person> multiCriteriaFind() {
+        int pick = ThreadLocalRandom.current().nextInt(EmployeeDataGenerator.LAST_NAMES.length);
+        return repository.find(Map.of(
+                EmployeeRepository.LAST_NAME, EmployeeDataGenerator.LAST_NAMES[pick],
+                EmployeeRepository.FIRST_NAME, EmployeeDataGenerator.FIRST_NAMES[pick % EmployeeDataGenerator.FIRST_NAMES.length]));
+    }
+
+    @Benchmark
+    public void create() {
+        repository.create(generator.person(nextId.getAndIncrement()));
+    }
+
+    @Benchmark
+    public void updateWithDirectoryMove() {
+        String personId = randomExistingId();
+        Person current = repository.find(Map.of(EmployeeRepository.PERSON_ID, personId)).get(0);
+        current.setInternal(!current.isInternal());
+        repository.update(current);
+    }
+
+    @State(Scope.Thread)
+    public static class DeleteTarget {
+        String personId;
+
+        @Setup(Level.Invocation)
+        public void createVictim(EmployeeRepositoryBenchmark benchmark) {
+            Person victim = benchmark.generator.person(benchmark.nextId.getAndIncrement());
+            benchmark.repository.create(victim);
+            personId = victim.getPersonId();
+        }
+    }
+
+    @Benchmark
+    public void delete(DeleteTarget target) {
+        repository.delete(target.personId);
+    }
+
+    private String randomExistingId() {
+        return String.valueOf(ThreadLocalRandom.current().nextInt(employees));
+    }
+}
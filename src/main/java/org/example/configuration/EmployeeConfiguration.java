@@ -1,24 +1,62 @@
 package org.example.configuration;
 
 import org.example.repository.EmployeeRepository;
+import org.example.repository.RepositoryOptions;
+import org.example.service.AsyncEmployeeService;
 import org.example.service.EmployeeServiceImpl;
 import org.example.validation.EmployeeValidator;
 
-public class EmployeeConfiguration {
+import java.nio.file.Path;
+
+public class EmployeeConfiguration implements AutoCloseable {
 
     private final String INTERNAL_DIR_PATH = "src/main/resources/internal";
     private final String EXTERNAL_DIR_PATH = "src/main/resources/external";
+    private final Path manifestFile;
+
+    private EmployeeRepository employeeRepository;
+    private AsyncEmployeeService asyncEmployeeService;
 
+    public EmployeeConfiguration() {
+        this(null);
+    }
+
+    public EmployeeConfiguration(Path manifestFile) {
+        this.manifestFile = manifestFile;
+    }
 
     public EmployeeServiceImpl employeeService(){
         return new EmployeeServiceImpl(employeeValidator(), employeeRepository());
     }
 
+    public synchronized AsyncEmployeeService asyncEmployeeService() {
+        if (asyncEmployeeService == null) {
+            asyncEmployeeService = new AsyncEmployeeService(employeeService());
+        }
+        return asyncEmployeeService;
+    }
+
     public EmployeeValidator employeeValidator() {
-        return new EmployeeValidator();
+        return new EmployeeValidator(employeeRepository().getIdRegistry());
+    }
+
+    public synchronized EmployeeRepository employeeRepository() {
+        if (employeeRepository == null) {
+            employeeRepository = new EmployeeRepository(INTERNAL_DIR_PATH, EXTERNAL_DIR_PATH,
+                    RepositoryOptions.defaults().manifest(manifestFile));
+        }
+        return employeeRepository;
     }
 
-    public EmployeeRepository employeeRepository() {
-        return new EmployeeRepository(INTERNAL_DIR_PATH, EXTERNAL_DIR_PATH);
+    @Override
+    public synchronized void close() {
+        if (asyncEmployeeService != null) {
+            asyncEmployeeService.close();
+            asyncEmployeeService = null;
+        }
+        if (employeeRepository != null) {
+            employeeRepository.close();
+            employeeRepository = null;
+        }
     }
 }
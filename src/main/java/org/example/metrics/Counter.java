@@ -0,0 +1,23 @@
+package org.example.metrics;
+
+public interface Counter {
+
+    Counter NO_OP = new Counter() {
+        @Override
+        public void add(long delta) {
+        }
+
+        @Override
+        public long get() {
+            return 0;
+        }
+    };
+
+    void add(long delta);
+
+    long get();
+
+    default void increment() {
+        add(1);
+    }
+}
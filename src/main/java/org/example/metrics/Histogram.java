@@ -0,0 +1,25 @@
+package org.example.metrics;
+
+public interface Histogram {
+
+    Histogram NO_OP = new Histogram() {
+        @Override
+        public void record(long value) {
+        }
+
+        @Override
+        public void recordSince(long startNanos) {
+        }
+
+        @Override
+        public HistogramSnapshot snapshot() {
+            return HistogramSnapshot.EMPTY;
+        }
+    };
+
+    void record(long value);
+
+    void recordSince(long startNanos);
+
+    HistogramSnapshot snapshot();
+}
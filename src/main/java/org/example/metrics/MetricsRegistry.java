@@ -0,0 +1,18 @@
+package org.example.metrics;
+
+import java.util.Map;
+
+public interface MetricsRegistry {
+
+    Counter counter(String name);
+
+    Histogram histogram(String name);
+
+    long startTime();
+
+    boolean isEnabled();
+
+    Map<String, Counter> getCounters();
+
+    Map<String, Histogram> getHistograms();
+}
@@ -0,0 +1,42 @@
+package org.example.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+public final class NoOpMetricsRegistry implements MetricsRegistry {
+
+    public static final NoOpMetricsRegistry INSTANCE = new NoOpMetricsRegistry();
+
+    private NoOpMetricsRegistry() {
+    }
+
+    @Override
+    public Counter counter(String name) {
+        return Counter.NO_OP;
+    }
+
+    @Override
+    public Histogram histogram(String name) {
+        return Histogram.NO_OP;
+    }
+
+    @Override
+    public long startTime() {
+        return 0;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public Map<String, Counter> getCounters() {
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public Map<String, Histogram> getHistograms() {
+        return Collections.emptyMap();
+    }
+}
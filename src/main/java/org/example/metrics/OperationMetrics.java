@@ -0,0 +1,30 @@
+package org.example.metrics;
+
+public class OperationMetrics {
+
+    private final MetricsRegistry registry;
+    private final Counter calls;
+    private final Counter failures;
+    private final Histogram latency;
+
+    public OperationMetrics(MetricsRegistry registry, String operationName) {
+        this.registry = registry;
+        this.calls = registry.counter(operationName + ".calls");
+        this.failures = registry.counter(operationName + ".failures");
+        this.latency = registry.histogram(operationName + ".nanos");
+    }
+
+    public long start() {
+        calls.increment();
+        return registry.startTime();
+    }
+
+    public void succeeded(long start) {
+        latency.recordSince(start);
+    }
+
+    public void failed(long start) {
+        failures.increment();
+        latency.recordSince(start);
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+public class AttributeIndex {
+
+    private final String attributeName;
+    private final NavigableMap<String, Set<String>> idsByValue = new ConcurrentSkipListMap<>();
+    private final Map<String, String> valueById = new ConcurrentHashMap<>();
+    private final Set<String> idsWithoutValue = ConcurrentHashMap.newKeySet();
+
+    public AttributeIndex(String attributeName) {
+        this.attributeName = attributeName;
+    }
+
+    public String getAttributeName() {
+        return attributeName;
+    }
+
+    public Set<String> lookup(String value) {
+        if (value == null) {
+            return Collections.emptySet();
+        }
+        Set<String> ids = idsByValue.get(normalize(value));
+        return ids == null ? Collections.emptySet() : ids;
+    }
+
+    public Set<String> lookupPrefix(String prefix) {
+        if (prefix == null) {
+            return Collections.emptySet();
+        }
+        String from = normalize(prefix);
+        if (from.isEmpty()) {
+            return union(idsByValue.values());
+        }
+        return union(idsByValue.subMap(from, true, from + Character.MAX_VALUE, true).values());
+    }
+
+    public Set<String> lookupRange(String from, String to) {
+        NavigableMap<String, Set<String>> range = idsByValue;
+        if (from != null) {
+            range = range.tailMap(normalize(from), true);
+        }
+        if (to != null) {
+            range = range.headMap(normalize(to), true);
+        }
+        return union(range.values());
+    }
+
+    private static Set<String> union(Collection<Set<String>> sets) {
+        Set<String> ids = new HashSet<>();
+        for (Set<String> set : sets) {
+            ids.addAll(set);
+        }
+        return ids;
+    }
+
+    public int cardinality(String value) {
+        return lookup(value).size();
+    }
+
+    public int distinctValues() {
+        return idsByValue.size();
+    }
+
+    public void put(String personId, String value) {
+        remove(personId);
+        if (value == null) {
+            idsWithoutValue.add(personId);
+            return;
+        }
+        String key = normalize(value);
+        idsByValue.compute(key, (k, ids) -> {
+            if (ids == null) {
+                ids = ConcurrentHashMap.newKeySet();
+            }
+            ids.add(personId);
+            return ids;
+        });
+        valueById.put(personId, key);
+    }
+
+    public void remove(String personId) {
+        idsWithoutValue.remove(personId);
+        String previous = valueById.remove(personId);
+        if (previous == null) {
+            return;
+        }
+        idsByValue.computeIfPresent(previous, (key, ids) -> {
+            ids.remove(personId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    public void clear() {
+        idsByValue.clear();
+        valueById.clear();
+        idsWithoutValue.clear();
+    }
+
+    NavigableMap<String, Set<String>> sortedValues() {
+        return idsByValue;
+    }
+
+    Set<String> idsWithoutValue() {
+        return idsWithoutValue;
+    }
+
+    static String normalize(String value) {
+        return value.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+    }
+}
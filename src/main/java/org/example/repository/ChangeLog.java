@@ -0,0 +1,108 @@
+package org.example.repository;
+
+import org.example.model.Person;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class ChangeLog {
+
+    private final Entry[] entries;
+    private long latestSequence;
+
+    public ChangeLog(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Change log capacity must be positive.");
+        }
+        this.entries = new Entry[capacity];
+    }
+
+    synchronized long append(EmployeeChangeEvent.Type type, String personId, Person employee) {
+        long sequence = ++latestSequence;
+        byte[] record = employee == null ? null : PersonRecordCodec.encode(employee);
+        entries[slot(sequence)] = new Entry(sequence, System.currentTimeMillis(), type, personId, record);
+        notifyAll();
+        return sequence;
+    }
+
+    public synchronized long getLatestSequence() {
+        return latestSequence;
+    }
+
+    public synchronized long getOldestSequence() {
+        return Math.max(1, latestSequence - entries.length + 1);
+    }
+
+    public synchronized List<Entry> readFrom(long sequence, int maxEntries) {
+        if (sequence > latestSequence || sequence < getOldestSequence()) {
+            return Collections.emptyList();
+        }
+        int count = (int) Math.min(maxEntries, latestSequence - sequence + 1);
+        List<Entry> batch = new ArrayList<>(count);
+        for (long next = sequence; next < sequence + count; next++) {
+            batch.add(entries[slot(next)]);
+        }
+        return batch;
+    }
+
+    public synchronized long getTimestamp(long sequence) {
+        if (sequence > latestSequence || sequence < getOldestSequence()) {
+            return -1;
+        }
+        return entries[slot(sequence)].getTimestamp();
+    }
+
+    public synchronized boolean awaitSequence(long sequence, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (latestSequence < sequence) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return true;
+    }
+
+    private int slot(long sequence) {
+        return (int) ((sequence - 1) % entries.length);
+    }
+
+    public static class Entry {
+        private final long sequence;
+        private final long timestamp;
+        private final EmployeeChangeEvent.Type type;
+        private final String personId;
+        private final byte[] record;
+
+        Entry(long sequence, long timestamp, EmployeeChangeEvent.Type type, String personId, byte[] record) {
+            this.sequence = sequence;
+            this.timestamp = timestamp;
+            this.type = type;
+            this.personId = personId;
+            this.record = record;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public EmployeeChangeEvent.Type getType() {
+            return type;
+        }
+
+        public String getPersonId() {
+            return personId;
+        }
+
+        public Person getEmployee() {
+            return record == null ? null : PersonRecordCodec.decode(record);
+        }
+    }
+}
@@ -0,0 +1,582 @@
+package org.example.repository;
+
+import org.example.exception.EmployeeRepositoryException;
+import org.example.model.Person;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import java.util.stream.Stream;
+
+public class CompactEmployeeStore {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int INITIAL_HEAP_BYTES = INITIAL_CAPACITY * 16;
+    private static final long NULL_NUMBER = Long.MIN_VALUE;
+    private static final int MAX_PACKED_DIGITS = 17;
+    private static final int LENGTH_SHIFT = 57;
+    private static final long VALUE_MASK = (1L << LENGTH_SHIFT) - 1;
+    private static final int NO_VALUE = -1;
+    private static final int EMPTY_SLOT = -1;
+    private static final int DELETED_SLOT = -2;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private StringDictionary firstNames = new StringDictionary();
+    private StringDictionary lastNames = new StringDictionary();
+    private StringDictionary emailDomains = new StringDictionary();
+    private StringHeap strings = new StringHeap(INITIAL_HEAP_BYTES);
+
+    private long[] personIds = new long[INITIAL_CAPACITY];
+    private long[] mobiles = new long[INITIAL_CAPACITY];
+    private long[] pesels = new long[INITIAL_CAPACITY];
+    private int[] firstNameCodes = new int[INITIAL_CAPACITY];
+    private int[] lastNameCodes = new int[INITIAL_CAPACITY];
+    private int[] emailLocalParts = new int[INITIAL_CAPACITY];
+    private int[] emailDomainCodes = new int[INITIAL_CAPACITY];
+    private BitSet internal = new BitSet();
+    private BitSet live = new BitSet();
+    private int[] slots = newSlots(INITIAL_CAPACITY * 2);
+    private int rowCount;
+    private int liveCount;
+    private int occupiedSlots;
+    private long deadHeapBytes;
+
+    public static CompactEmployeeStore of(Stream<Person> employees) {
+        CompactEmployeeStore store = new CompactEmployeeStore();
+        employees.forEach(store::put);
+        return store;
+    }
+
+    public void put(Person employee) {
+        if (employee.getPersonId() == null) {
+            throw new EmployeeRepositoryException("Employee ID cannot be null.");
+        }
+        lock.writeLock().lock();
+        try {
+            putRow(employee);
+            compactIfWasteful();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putRow(Person employee) {
+        int row = findRow(employee.getPersonId());
+        boolean replacing = row >= 0;
+        if (!replacing) {
+            row = appendRow();
+            personIds[row] = encodeNumber(employee.getPersonId());
+            insertSlot(row, employee.getPersonId().hashCode());
+            live.set(row);
+            liveCount++;
+        }
+        writeRow(row, employee, replacing);
+    }
+
+    public boolean remove(String personId) {
+        lock.writeLock().lock();
+        try {
+            int slot = findSlot(personId);
+            if (slot < 0) {
+                return false;
+            }
+            int row = slots[slot];
+            release(personIds[row]);
+            release(mobiles[row]);
+            release(pesels[row]);
+            release(emailLocalParts[row]);
+            live.clear(row);
+            slots[slot] = DELETED_SLOT;
+            liveCount--;
+            compactIfWasteful();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(String personId) {
+        lock.readLock().lock();
+        try {
+            return findRow(personId) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Person get(String personId) {
+        lock.readLock().lock();
+        try {
+            int row = findRow(personId);
+            return row < 0 ? null : new EmployeeView(this, row).toPerson();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        return liveCount;
+    }
+
+    public void forEach(Consumer<EmployeeView> action) {
+        lock.readLock().lock();
+        try {
+            EmployeeView view = new EmployeeView(this, 0);
+            for (int row = live.nextSetBit(0); row >= 0; row = live.nextSetBit(row + 1)) {
+                view.moveTo(row);
+                action.accept(view);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Person> find(QueryPlan plan) {
+        List<Person> employees = new ArrayList<>();
+        if (plan.isUnsatisfiable()) {
+            return employees;
+        }
+        lock.readLock().lock();
+        try {
+            IntPredicate[] predicates = compile(plan);
+            EmployeeView view = new EmployeeView(this, 0);
+            rows:
+            for (int row = live.nextSetBit(0); row >= 0; row = live.nextSetBit(row + 1)) {
+                for (IntPredicate predicate : predicates) {
+                    if (!predicate.test(row)) {
+                        continue rows;
+                    }
+                }
+                view.moveTo(row);
+                employees.add(view.toPerson());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return employees;
+    }
+
+    public List<Person> find(Map<String, String> searchCriteria) {
+        return find(QueryPlan.compile(searchCriteria));
+    }
+
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long columns = (long) personIds.length * Long.BYTES * 3 + (long) firstNameCodes.length * Integer.BYTES * 4;
+            long bitSets = (internal.size() + live.size()) / Byte.SIZE;
+            return columns + bitSets + (long) slots.length * Integer.BYTES + strings.capacity()
+                    + firstNames.estimatedBytes() + lastNames.estimatedBytes() + emailDomains.estimatedBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            List<Person> survivors = new ArrayList<>(liveCount);
+            forEach(view -> survivors.add(view.toPerson()));
+            int capacity = Math.max(INITIAL_CAPACITY, Integer.highestOneBit(Math.max(1, survivors.size())) * 2);
+            resetColumns(capacity, strings.size() - deadHeapBytes);
+            for (Person employee : survivors) {
+                putRow(employee);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    String personId(int row) {
+        return decodeNumber(personIds[row]);
+    }
+
+    String firstName(int row) {
+        return firstNames.value(firstNameCodes[row]);
+    }
+
+    String lastName(int row) {
+        return lastNames.value(lastNameCodes[row]);
+    }
+
+    String mobile(int row) {
+        return decodeNumber(mobiles[row]);
+    }
+
+    String pesel(int row) {
+        return decodeNumber(pesels[row]);
+    }
+
+    String email(int row) {
+        int local = emailLocalParts[row];
+        if (local == NO_VALUE) {
+            return null;
+        }
+        int domain = emailDomainCodes[row];
+        return domain == NO_VALUE ? strings.get(local) : strings.get(local) + '@' + emailDomains.value(domain);
+    }
+
+    String emailDomain(int row) {
+        return emailDomains.value(emailDomainCodes[row]);
+    }
+
+    boolean isInternal(int row) {
+        return internal.get(row);
+    }
+
+    private void writeRow(int row, Person employee, boolean replacing) {
+        mobiles[row] = replacing ? reencodeNumber(employee.getMobile(), mobiles[row]) : encodeNumber(employee.getMobile());
+        pesels[row] = replacing ? reencodeNumber(employee.getPesel(), pesels[row]) : encodeNumber(employee.getPesel());
+        firstNameCodes[row] = firstNames.code(employee.getFirstName());
+        lastNameCodes[row] = lastNames.code(employee.getLastName());
+        String email = employee.getEmail();
+        int at = email == null ? -1 : email.lastIndexOf('@');
+        String local = email == null || at < 0 ? email : email.substring(0, at);
+        emailLocalParts[row] = storeString(local, replacing ? emailLocalParts[row] : NO_VALUE);
+        emailDomainCodes[row] = at < 0 ? NO_VALUE : emailDomains.code(email.substring(at + 1));
+        internal.set(row, employee.isInternal());
+    }
+
+    private long reencodeNumber(String value, long previous) {
+        if (isStringRef(previous)) {
+            if (strings.get(stringRef(previous)).equals(value)) {
+                return previous;
+            }
+            release(previous);
+        }
+        return encodeNumber(value);
+    }
+
+    private int storeString(String value, int previous) {
+        if (previous != NO_VALUE) {
+            if (strings.get(previous).equals(value)) {
+                return previous;
+            }
+            release(previous);
+        }
+        return value == null ? NO_VALUE : strings.add(value);
+    }
+
+    private void release(long encoded) {
+        if (isStringRef(encoded)) {
+            deadHeapBytes += strings.sizeOf(stringRef(encoded));
+        }
+    }
+
+    private void release(int ref) {
+        if (ref != NO_VALUE) {
+            deadHeapBytes += strings.sizeOf(ref);
+        }
+    }
+
+    private void compactIfWasteful() {
+        boolean sparseRows = rowCount > INITIAL_CAPACITY && liveCount < rowCount / 2;
+        boolean deadStrings = deadHeapBytes > INITIAL_HEAP_BYTES && deadHeapBytes > strings.size() / 2;
+        boolean staleDictionaries = firstNames.isMostlyUnused(liveCount) || lastNames.isMostlyUnused(liveCount)
+                || emailDomains.isMostlyUnused(liveCount);
+        if (sparseRows || deadStrings || staleDictionaries) {
+            compact();
+        }
+    }
+
+    private IntPredicate[] compile(QueryPlan plan) {
+        List<QueryPlan.Condition> conditions = plan.getConditions();
+        IntPredicate[] predicates = new IntPredicate[conditions.size()];
+        for (int i = 0; i < predicates.length; i++) {
+            QueryPlan.Condition condition = conditions.get(i);
+            String expected = condition.getExpectedValue();
+            switch (PersonAttribute.forName(condition.getAttributeName())) {
+                case PERSON_ID:
+                    predicates[i] = numberEquals(personIds, expected);
+                    break;
+                case MOBILE:
+                    predicates[i] = numberEquals(mobiles, expected);
+                    break;
+                case PESEL:
+                    predicates[i] = numberEquals(pesels, expected);
+                    break;
+                case FIRST_NAME:
+                    predicates[i] = codeIn(firstNameCodes, firstNames.codesMatching(expected));
+                    break;
+                case LAST_NAME:
+                    predicates[i] = codeIn(lastNameCodes, lastNames.codesMatching(expected));
+                    break;
+                case EMAIL_DOMAIN:
+                    predicates[i] = codeIn(emailDomainCodes, emailDomains.codesMatching(expected));
+                    break;
+                case EMAIL:
+                    predicates[i] = emailEquals(expected);
+                    break;
+                case IS_INTERNAL:
+                    boolean expectedInternal = Boolean.parseBoolean(expected);
+                    predicates[i] = row -> internal.get(row) == expectedInternal;
+                    break;
+                default:
+                    predicates[i] = row -> false;
+            }
+        }
+        return predicates;
+    }
+
+    private IntPredicate numberEquals(long[] column, String expected) {
+        long encoded = packNumber(expected);
+        if (encoded != NULL_NUMBER) {
+            return row -> column[row] == encoded;
+        }
+        return row -> isStringRef(column[row]) && strings.get(stringRef(column[row])).equalsIgnoreCase(expected);
+    }
+
+    private static IntPredicate codeIn(int[] column, BitSet codes) {
+        return row -> column[row] != NO_VALUE && codes.get(column[row]);
+    }
+
+    private IntPredicate emailEquals(String expected) {
+        int at = expected.lastIndexOf('@');
+        String expectedLocal = at < 0 ? expected : expected.substring(0, at);
+        if (at < 0) {
+            return row -> emailLocalParts[row] != NO_VALUE && emailDomainCodes[row] == NO_VALUE
+                    && strings.get(emailLocalParts[row]).equalsIgnoreCase(expectedLocal);
+        }
+        BitSet domains = emailDomains.codesMatching(expected.substring(at + 1));
+        return row -> emailDomainCodes[row] != NO_VALUE && domains.get(emailDomainCodes[row])
+                && strings.get(emailLocalParts[row]).equalsIgnoreCase(expectedLocal);
+    }
+
+    private long encodeNumber(String value) {
+        if (value == null) {
+            return NULL_NUMBER;
+        }
+        long packed = packNumber(value);
+        return packed != NULL_NUMBER ? packed : -((long) strings.add(value) + 2);
+    }
+
+    private String decodeNumber(long encoded) {
+        if (encoded == NULL_NUMBER) {
+            return null;
+        }
+        if (encoded < 0) {
+            return strings.get(stringRef(encoded));
+        }
+        int length = (int) (encoded >>> LENGTH_SHIFT);
+        if (length == 0) {
+            return "";
+        }
+        String digits = Long.toString(encoded & VALUE_MASK);
+        if (digits.length() == length) {
+            return digits;
+        }
+        char[] padded = new char[length];
+        Arrays.fill(padded, 0, length - digits.length(), '0');
+        digits.getChars(0, digits.length(), padded, length - digits.length());
+        return new String(padded);
+    }
+
+    private static long packNumber(String value) {
+        int length = value.length();
+        if (length > MAX_PACKED_DIGITS) {
+            return NULL_NUMBER;
+        }
+        long number = 0;
+        for (int i = 0; i < length; i++) {
+            char digit = value.charAt(i);
+            if (digit < '0' || digit > '9') {
+                return NULL_NUMBER;
+            }
+            number = number * 10 + (digit - '0');
+        }
+        return ((long) length << LENGTH_SHIFT) | number;
+    }
+
+    private static boolean isStringRef(long encoded) {
+        return encoded < NO_VALUE && encoded != NULL_NUMBER;
+    }
+
+    private static int stringRef(long encoded) {
+        return (int) (-encoded - 2);
+    }
+
+    private int appendRow() {
+        if (rowCount == personIds.length) {
+            int capacity = personIds.length * 2;
+            personIds = Arrays.copyOf(personIds, capacity);
+            mobiles = Arrays.copyOf(mobiles, capacity);
+            pesels = Arrays.copyOf(pesels, capacity);
+            firstNameCodes = Arrays.copyOf(firstNameCodes, capacity);
+            lastNameCodes = Arrays.copyOf(lastNameCodes, capacity);
+            emailLocalParts = Arrays.copyOf(emailLocalParts, capacity);
+            emailDomainCodes = Arrays.copyOf(emailDomainCodes, capacity);
+        }
+        return rowCount++;
+    }
+
+    private int findRow(String personId) {
+        int slot = findSlot(personId);
+        return slot < 0 ? -1 : slots[slot];
+    }
+
+    private int findSlot(String personId) {
+        if (personId == null) {
+            return -1;
+        }
+        long packed = packNumber(personId);
+        int mask = slots.length - 1;
+        for (int slot = spread(personId.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+            int row = slots[slot];
+            if (row == EMPTY_SLOT) {
+                return -1;
+            }
+            if (row != DELETED_SLOT && (packed != NULL_NUMBER ? personIds[row] == packed : personId.equals(personId(row)))) {
+                return slot;
+            }
+        }
+    }
+
+    private void insertSlot(int row, int hash) {
+        if ((occupiedSlots + 1) * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        int mask = slots.length - 1;
+        int slot = spread(hash) & mask;
+        while (slots[slot] != EMPTY_SLOT) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = row;
+        occupiedSlots++;
+    }
+
+    private void rehash(int capacity) {
+        slots = newSlots(capacity);
+        occupiedSlots = 0;
+        for (int row = live.nextSetBit(0); row >= 0; row = live.nextSetBit(row + 1)) {
+            insertSlot(row, personId(row).hashCode());
+        }
+    }
+
+    private void resetColumns(int capacity, long liveHeapBytes) {
+        personIds = new long[capacity];
+        mobiles = new long[capacity];
+        pesels = new long[capacity];
+        firstNameCodes = new int[capacity];
+        lastNameCodes = new int[capacity];
+        emailLocalParts = new int[capacity];
+        emailDomainCodes = new int[capacity];
+        internal = new BitSet();
+        live = new BitSet();
+        slots = newSlots(capacity * 2);
+        strings = new StringHeap((int) Math.min(Integer.MAX_VALUE - 8, Math.max(INITIAL_HEAP_BYTES, liveHeapBytes)));
+        firstNames = new StringDictionary();
+        lastNames = new StringDictionary();
+        emailDomains = new StringDictionary();
+        deadHeapBytes = 0;
+        rowCount = 0;
+        liveCount = 0;
+        occupiedSlots = 0;
+    }
+
+    private static int[] newSlots(int capacity) {
+        int[] slots = new int[capacity];
+        Arrays.fill(slots, EMPTY_SLOT);
+        return slots;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static class StringDictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int code(String value) {
+            if (value == null) {
+                return NO_VALUE;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                values.add(value);
+                codes.put(value, code);
+            }
+            return code;
+        }
+
+        String value(int code) {
+            return code == NO_VALUE ? null : values.get(code);
+        }
+
+        BitSet codesMatching(String expected) {
+            BitSet matching = new BitSet(values.size());
+            for (int code = 0; code < values.size(); code++) {
+                if (values.get(code).equalsIgnoreCase(expected)) {
+                    matching.set(code);
+                }
+            }
+            return matching;
+        }
+
+        boolean isMostlyUnused(int liveRows) {
+            return values.size() > INITIAL_CAPACITY && values.size() > liveRows * 2;
+        }
+
+        long estimatedBytes() {
+            long bytes = 0;
+            for (String value : values) {
+                bytes += 48 + value.length();
+            }
+            return bytes;
+        }
+    }
+
+    private static class StringHeap {
+        private byte[] data;
+        private int size;
+
+        StringHeap(int capacity) {
+            data = new byte[capacity];
+        }
+
+        int add(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > 0xFFFF) {
+                throw new EmployeeRepositoryException("Value is too long for the compact store.");
+            }
+            if ((long) size + bytes.length + 2 > Integer.MAX_VALUE - 8) {
+                throw new EmployeeRepositoryException("Compact store string heap is full.");
+            }
+            if (size + bytes.length + 2 > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, size + bytes.length + 2));
+            }
+            int offset = size;
+            data[size++] = (byte) (bytes.length >>> 8);
+            data[size++] = (byte) bytes.length;
+            System.arraycopy(bytes, 0, data, size, bytes.length);
+            size += bytes.length;
+            return offset;
+        }
+
+        String get(int offset) {
+            int length = ((data[offset] & 0xFF) << 8) | (data[offset + 1] & 0xFF);
+            return new String(data, offset + 2, length, StandardCharsets.UTF_8);
+        }
+
+        int sizeOf(int offset) {
+            return (((data[offset] & 0xFF) << 8) | (data[offset + 1] & 0xFF)) + 2;
+        }
+
+        int size() {
+            return size;
+        }
+
+        long capacity() {
+            return data.length;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+public abstract class DirectoryLayout {
+
+    private static final String XML_EXTENSION = ".xml";
+
+    public static final DirectoryLayout FLAT = new DirectoryLayout() {
+        @Override
+        public Path resolve(Path directory, String personId) {
+            return directory.resolve(personId + XML_EXTENSION);
+        }
+    };
+
+    public static final DirectoryLayout SHARDED = sharded(2);
+
+    public abstract Path resolve(Path directory, String personId);
+
+    public static DirectoryLayout sharded(int levels) {
+        if (levels < 1 || levels > 4) {
+            throw new IllegalArgumentException("Shard levels must be between 1 and 4.");
+        }
+        return new Sharded(levels);
+    }
+
+    static String shardPrefix(String personId, int levels) {
+        CRC32 crc = new CRC32();
+        crc.update(personId.getBytes(StandardCharsets.UTF_8));
+        long hash = crc.getValue();
+        StringBuilder prefix = new StringBuilder(levels * 3);
+        for (int level = 0; level < levels; level++) {
+            int shard = (int) (hash >>> (24 - level * 8)) & 0xFF;
+            prefix.append(Character.forDigit(shard >>> 4, 16)).append(Character.forDigit(shard & 0xF, 16)).append('/');
+        }
+        return prefix.toString();
+    }
+
+    private static class Sharded extends DirectoryLayout {
+        private final int levels;
+
+        Sharded(int levels) {
+            this.levels = levels;
+        }
+
+        @Override
+        public Path resolve(Path directory, String personId) {
+            return directory.resolve(shardPrefix(personId, levels) + personId + XML_EXTENSION);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.repository;
+
+import org.example.exception.EmployeeRepositoryException;
+import org.example.model.Person;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.example.repository.EmployeeRepository.EMAIL;
+import static org.example.repository.EmployeeRepository.EMPLOYEE;
+import static org.example.repository.EmployeeRepository.FIRST_NAME;
+import static org.example.repository.EmployeeRepository.IS_INTERNAL;
+import static org.example.repository.EmployeeRepository.LAST_NAME;
+import static org.example.repository.EmployeeRepository.MOBILE;
+import static org.example.repository.EmployeeRepository.PERSON_ID;
+import static org.example.repository.EmployeeRepository.PESEL;
+
+public class DomPersonReader implements PersonReader {
+
+    private final ThreadLocal<DocumentBuilder> documentBuilder = ThreadLocal.withInitial(DomPersonReader::newDocumentBuilder);
+
+    @Override
+    public List<Person> read(Path file, QueryPlan plan) {
+        List<Person> employees = new ArrayList<>();
+
+        try {
+            DocumentBuilder builder = documentBuilder.get();
+            builder.reset();
+            Document doc = builder.parse(file.toFile());
+
+            NodeList nodeList = doc.getElementsByTagName(EMPLOYEE);
+
+            for (int i = 0; i < nodeList.getLength(); i++) {
+                Element element = (Element) nodeList.item(i);
+                String personId = element.getAttribute(PERSON_ID);
+                String firstName = element.getElementsByTagName(FIRST_NAME).item(0).getTextContent();
+                String lastName = element.getElementsByTagName(LAST_NAME).item(0).getTextContent();
+                String mobile = element.getElementsByTagName(MOBILE).item(0).getTextContent();
+                String email = element.getElementsByTagName(EMAIL).item(0).getTextContent();
+                String pesel = element.getElementsByTagName(PESEL).item(0).getTextContent();
+                boolean isInternal = Boolean.parseBoolean(element.getAttribute(IS_INTERNAL));
+
+                Person employee = new Person(personId, firstName, lastName, mobile, email, pesel, isInternal);
+                if (plan.matches(employee)) {
+                    employees.add(employee);
+                }
+            }
+        } catch (Exception e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        }
+
+        return employees;
+    }
+
+    private static DocumentBuilder newDocumentBuilder() {
+        try {
+            return DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.repository;
+
+import org.example.model.Person;
+
+public class EmployeeChangeEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final String personId;
+    private final Person employee;
+    private final boolean external;
+
+    public EmployeeChangeEvent(Type type, String personId, Person employee, boolean external) {
+        this.type = type;
+        this.personId = personId;
+        this.employee = employee;
+        this.external = external;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getPersonId() {
+        return personId;
+    }
+
+    public Person getEmployee() {
+        return employee;
+    }
+
+    public boolean isExternal() {
+        return external;
+    }
+
+    @Override
+    public String toString() {
+        return "EmployeeChangeEvent{" +
+                "type=" + type +
+                ", personId='" + personId + '\'' +
+                ", external=" + external +
+                '}';
+    }
+}
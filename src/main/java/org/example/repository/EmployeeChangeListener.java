@@ -0,0 +1,6 @@
+package org.example.repository;
+
+public interface EmployeeChangeListener {
+
+    void onChange(EmployeeChangeEvent event);
+}
@@ -0,0 +1,163 @@
+package org.example.repository;
+
+import org.example.exception.EmployeeRepositoryException;
+import org.example.metrics.Counter;
+import org.example.model.Person;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+public class EmployeeDirectoryWatcher implements AutoCloseable {
+
+    private final EmployeeRepository repository;
+    private final XmlFileStorage storage;
+    private final Counter applyFailures;
+    private final Map<WatchKey, Path> watchedDirectories = new ConcurrentHashMap<>();
+    private WatchService watchService;
+    private Thread worker;
+
+    public EmployeeDirectoryWatcher(EmployeeRepository repository) {
+        if (!(repository.getStorage() instanceof XmlFileStorage)) {
+            throw new EmployeeRepositoryException("Only XML file storage can be watched for external changes.");
+        }
+        this.repository = repository;
+        this.storage = (XmlFileStorage) repository.getStorage();
+        this.applyFailures = repository.getMetrics().counter("watcher.apply.failures");
+    }
+
+    public synchronized void start() {
+        if (worker != null) {
+            return;
+        }
+        try {
+            watchService = Paths.get(storage.getInternalDirPath()).getFileSystem().newWatchService();
+            register(Paths.get(storage.getInternalDirPath()));
+            register(Paths.get(storage.getExternalDirPath()));
+        } catch (IOException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        }
+        storage.recordOwnChanges(true);
+        repository.rebuildIndex();
+        worker = new Thread(this::processEvents, "employee-directory-watcher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public synchronized boolean isRunning() {
+        return worker != null && worker.isAlive();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (worker == null) {
+            return;
+        }
+        try {
+            watchService.close();
+            worker.join();
+        } catch (IOException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            storage.recordOwnChanges(false);
+            watchedDirectories.clear();
+            worker = null;
+        }
+    }
+
+    private void processEvents() {
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (ClosedWatchServiceException | InterruptedException e) {
+                return;
+            }
+
+            Path directory = watchedDirectories.get(key);
+            for (WatchEvent<?> event : key.pollEvents()) {
+                try {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        repository.rebuildIndex();
+                    } else if (directory != null) {
+                        handle(event.kind(), directory.resolve((Path) event.context()));
+                    }
+                } catch (RuntimeException e) {
+                    applyFailures.increment();
+                }
+            }
+            if (!key.reset()) {
+                watchedDirectories.remove(key);
+            }
+        }
+    }
+
+    private void handle(WatchEvent.Kind<?> kind, Path file) {
+        if (kind == StandardWatchEventKinds.ENTRY_DELETE) {
+            String personId = EmployeeIdIndex.personIdFromFileName(file);
+            if (personId != null && !storage.isOwnDelete(file)) {
+                repository.applyExternalDelete(personId, file);
+            }
+            return;
+        }
+
+        if (Files.isDirectory(file)) {
+            if (kind == StandardWatchEventKinds.ENTRY_CREATE) {
+                registerAndLoad(file);
+            }
+            return;
+        }
+        applyWrite(file);
+    }
+
+    private void applyWrite(Path file) {
+        if (EmployeeIdIndex.personIdFromFileName(file) == null || !Files.isRegularFile(file) || storage.isOwnWrite(file)) {
+            return;
+        }
+        Person employee;
+        try {
+            employee = storage.readFile(file);
+        } catch (EmployeeRepositoryException e) {
+            return;
+        }
+        if (employee != null && employee.getPersonId() != null) {
+            repository.applyExternalWrite(employee, file);
+        }
+    }
+
+    private void registerAndLoad(Path directory) {
+        try {
+            register(directory);
+        } catch (IOException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.filter(Files::isRegularFile).forEach(this::applyWrite);
+        } catch (IOException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        }
+    }
+
+    private void register(Path root) throws IOException {
+        try (Stream<Path> directories = Files.walk(root)) {
+            for (Path directory : (Iterable<Path>) directories.filter(Files::isDirectory)::iterator) {
+                WatchKey key = directory.register(watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_DELETE);
+                watchedDirectories.put(key, directory);
+            }
+        }
+    }
+}
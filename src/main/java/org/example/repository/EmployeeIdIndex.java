@@ -0,0 +1,108 @@
+package org.example.repository;
+
+import org.example.exception.EmployeeRepositoryException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+public class EmployeeIdIndex {
+
+    private static final String XML_EXTENSION = ".xml";
+
+    private final Map<String, Location> locations = new ConcurrentHashMap<>();
+
+    public Location get(String personId) {
+        return personId == null ? null : locations.get(personId);
+    }
+
+    public boolean contains(String personId) {
+        return personId != null && locations.containsKey(personId);
+    }
+
+    public void put(String personId, boolean internal, Path path) {
+        locations.put(personId, new Location(internal, path));
+    }
+
+    public void remove(String personId) {
+        locations.remove(personId);
+    }
+
+    public Set<String> personIds() {
+        return locations.keySet();
+    }
+
+    public int size() {
+        return locations.size();
+    }
+
+    public List<Path> paths() {
+        List<Path> paths = new ArrayList<>(locations.size());
+        for (Location location : locations.values()) {
+            paths.add(location.getPath());
+        }
+        paths.sort(null);
+        return paths;
+    }
+
+    public void rebuild(Path internalDir, Path externalDir) {
+        Map<String, Location> scanned = new ConcurrentHashMap<>();
+        scanDirectory(internalDir, true, scanned);
+        scanDirectory(externalDir, false, scanned);
+        replaceAll(scanned);
+    }
+
+    public void replaceAll(Map<String, Location> scanned) {
+        locations.keySet().retainAll(scanned.keySet());
+        locations.putAll(scanned);
+    }
+
+    private void scanDirectory(Path directory, boolean internal, Map<String, Location> target) {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.filter(Files::isRegularFile)
+                    .forEach(path -> {
+                        String personId = personIdFromFileName(path);
+                        if (personId != null) {
+                            target.put(personId, new Location(internal, path));
+                        }
+                    });
+        } catch (IOException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        }
+    }
+
+    static String personIdFromFileName(Path path) {
+        String filename = path.getFileName().toString();
+        if (!filename.endsWith(XML_EXTENSION)) {
+            return null;
+        }
+        return filename.substring(0, filename.length() - XML_EXTENSION.length());
+    }
+
+    public static class Location {
+        private final boolean internal;
+        private final Path path;
+
+        public Location(boolean internal, Path path) {
+            this.internal = internal;
+            this.path = path;
+        }
+
+        public boolean isInternal() {
+            return internal;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+    }
+}
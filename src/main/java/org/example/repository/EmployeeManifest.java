@@ -0,0 +1,306 @@
+package org.example.repository;
+
+import org.example.exception.EmployeeRepositoryException;
+import org.example.model.Person;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+public class EmployeeManifest {
+
+    private static final int MAGIC = 0x454D4D32;
+    private static final long RACY_WINDOW_MILLIS = 2000;
+    private static final long UNTRUSTED = -1;
+
+    private final Path internalDir;
+    private final Path externalDir;
+    private final List<String> indexedAttributes;
+    private final Map<String, Directory> directories = new HashMap<>();
+    private int reparsedFiles;
+    private int rescannedDirectories;
+
+    private EmployeeManifest(Path internalDir, Path externalDir, List<String> indexedAttributes) {
+        this.internalDir = internalDir.toAbsolutePath().normalize();
+        this.externalDir = externalDir.toAbsolutePath().normalize();
+        this.indexedAttributes = List.copyOf(indexedAttributes);
+    }
+
+    public static EmployeeManifest build(Path internalDir, Path externalDir, PersonReader personReader, List<String> indexedAttributes) {
+        return refresh(null, internalDir, externalDir, personReader, indexedAttributes);
+    }
+
+    public static EmployeeManifest refresh(EmployeeManifest previous, Path internalDir, Path externalDir, PersonReader personReader,
+                                           List<String> indexedAttributes) {
+        EmployeeManifest next = new EmployeeManifest(internalDir, externalDir, indexedAttributes);
+        if (previous != null && (!previous.internalDir.equals(next.internalDir) || !previous.externalDir.equals(next.externalDir)
+                || !previous.indexedAttributes.equals(next.indexedAttributes))) {
+            previous = null;
+        }
+        long racyThreshold = System.currentTimeMillis() - RACY_WINDOW_MILLIS;
+        try {
+            next.refreshDirectory(previous, next.internalDir, key(true, ""), racyThreshold, personReader);
+            next.refreshDirectory(previous, next.externalDir, key(false, ""), racyThreshold, personReader);
+        } catch (IOException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        }
+        return next;
+    }
+
+    public static EmployeeManifest load(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        CheckedInputStream checked;
+        try (DataInputStream in = new DataInputStream(checked = new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(file), 64 * 1024), new CRC32()))) {
+            if (in.readInt() != MAGIC) {
+                return null;
+            }
+            Path internalDir = Path.of(in.readUTF());
+            Path externalDir = Path.of(in.readUTF());
+            int attributeCount = in.readInt();
+            List<String> indexedAttributes = new ArrayList<>(attributeCount);
+            for (int i = 0; i < attributeCount; i++) {
+                indexedAttributes.add(in.readUTF());
+            }
+            EmployeeManifest manifest = new EmployeeManifest(internalDir, externalDir, indexedAttributes);
+            int directoryCount = in.readInt();
+            for (int i = 0; i < directoryCount; i++) {
+                String key = in.readUTF();
+                Directory directory = new Directory(in.readLong());
+                int subdirectoryCount = in.readInt();
+                for (int j = 0; j < subdirectoryCount; j++) {
+                    directory.subdirectories.add(in.readUTF());
+                }
+                int fileCount = in.readInt();
+                for (int j = 0; j < fileCount; j++) {
+                    String name = in.readUTF();
+                    long modified = in.readLong();
+                    long size = in.readLong();
+                    String[] values = null;
+                    if (in.readBoolean()) {
+                        values = new String[attributeCount];
+                        for (int k = 0; k < attributeCount; k++) {
+                            values[k] = in.readBoolean() ? in.readUTF() : null;
+                        }
+                    }
+                    directory.files.put(name, new FileEntry(modified, size, values));
+                }
+                manifest.directories.put(key, directory);
+            }
+            long expected = checked.getChecksum().getValue();
+            if (in.readLong() != expected) {
+                return null;
+            }
+            return manifest;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    public void save(Path file) {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            if (file.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+            }
+            CheckedOutputStream checked;
+            try (DataOutputStream out = new DataOutputStream(checked = new CheckedOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporary), 64 * 1024), new CRC32()))) {
+                out.writeInt(MAGIC);
+                out.writeUTF(internalDir.toString());
+                out.writeUTF(externalDir.toString());
+                out.writeInt(indexedAttributes.size());
+                for (String attributeName : indexedAttributes) {
+                    out.writeUTF(attributeName);
+                }
+                out.writeInt(directories.size());
+                for (Map.Entry<String, Directory> entry : directories.entrySet()) {
+                    Directory directory = entry.getValue();
+                    out.writeUTF(entry.getKey());
+                    out.writeLong(directory.modified);
+                    out.writeInt(directory.subdirectories.size());
+                    for (String subdirectory : directory.subdirectories) {
+                        out.writeUTF(subdirectory);
+                    }
+                    out.writeInt(directory.files.size());
+                    for (Map.Entry<String, FileEntry> record : directory.files.entrySet()) {
+                        FileEntry fileEntry = record.getValue();
+                        out.writeUTF(record.getKey());
+                        out.writeLong(fileEntry.modified);
+                        out.writeLong(fileEntry.size);
+                        out.writeBoolean(fileEntry.values != null);
+                        if (fileEntry.values != null) {
+                            for (String value : fileEntry.values) {
+                                out.writeBoolean(value != null);
+                                if (value != null) {
+                                    out.writeUTF(value);
+                                }
+                            }
+                        }
+                    }
+                }
+                out.flush();
+                out.writeLong(checked.getChecksum().getValue());
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        }
+    }
+
+    public Map<String, EmployeeIdIndex.Location> locations() {
+        Map<String, EmployeeIdIndex.Location> locations = new HashMap<>();
+        for (Map.Entry<String, Directory> entry : directories.entrySet()) {
+            boolean internal = entry.getKey().charAt(0) == 'i';
+            Path directory = resolve(entry.getKey());
+            for (String name : entry.getValue().files.keySet()) {
+                locations.put(EmployeeIdIndex.personIdFromFileName(Path.of(name)), new EmployeeIdIndex.Location(internal, directory.resolve(name)));
+            }
+        }
+        return locations;
+    }
+
+    public List<String> getIndexedAttributes() {
+        return indexedAttributes;
+    }
+
+    public void forEachIndexedValues(BiConsumer<String, String[]> action) {
+        for (Directory directory : directories.values()) {
+            for (Map.Entry<String, FileEntry> file : directory.files.entrySet()) {
+                if (file.getValue().values != null) {
+                    action.accept(EmployeeIdIndex.personIdFromFileName(Path.of(file.getKey())), file.getValue().values);
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return directories.values().stream().mapToInt(directory -> directory.files.size()).sum();
+    }
+
+    public int getReparsedFiles() {
+        return reparsedFiles;
+    }
+
+    public int getRescannedDirectories() {
+        return rescannedDirectories;
+    }
+
+    private void refreshDirectory(EmployeeManifest previous, Path path, String key, long racyThreshold, PersonReader personReader) throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return;
+        }
+        if (!attributes.isDirectory()) {
+            return;
+        }
+        long modified = attributes.lastModifiedTime().toMillis();
+        Directory known = previous == null ? null : previous.directories.get(key);
+        Directory directory = new Directory(modified > racyThreshold ? UNTRUSTED : modified);
+        directories.put(key, directory);
+
+        if (known != null && known.modified != UNTRUSTED && known.modified == modified) {
+            directory.files.putAll(known.files);
+            directory.subdirectories.addAll(known.subdirectories);
+        } else {
+            rescannedDirectories++;
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(path)) {
+                for (Path entry : entries) {
+                    BasicFileAttributes entryAttributes = Files.readAttributes(entry, BasicFileAttributes.class);
+                    String name = entry.getFileName().toString();
+                    if (entryAttributes.isDirectory()) {
+                        directory.subdirectories.add(name);
+                    } else if (entryAttributes.isRegularFile() && EmployeeIdIndex.personIdFromFileName(entry) != null) {
+                        directory.files.put(name, fileEntry(known, name, entry, entryAttributes, racyThreshold, personReader));
+                    }
+                }
+            }
+        }
+        for (String subdirectory : directory.subdirectories) {
+            refreshDirectory(previous, path.resolve(subdirectory), key + subdirectory + "/", racyThreshold, personReader);
+        }
+    }
+
+    private FileEntry fileEntry(Directory known, String name, Path file, BasicFileAttributes attributes, long racyThreshold, PersonReader personReader) {
+        long modified = attributes.lastModifiedTime().toMillis();
+        FileEntry previous = known == null ? null : known.files.get(name);
+        if (previous != null && previous.modified != UNTRUSTED && previous.modified == modified && previous.size == attributes.size()) {
+            return previous;
+        }
+        return new FileEntry(modified > racyThreshold ? UNTRUSTED : modified, attributes.size(), indexedValues(file, personReader));
+    }
+
+    private String[] indexedValues(Path file, PersonReader personReader) {
+        if (indexedAttributes.isEmpty()) {
+            return new String[0];
+        }
+        reparsedFiles++;
+        Person employee;
+        try {
+            List<Person> employees = personReader.readAll(file);
+            employee = employees.isEmpty() ? null : employees.get(0);
+        } catch (EmployeeRepositoryException e) {
+            employee = null;
+        }
+        if (employee == null) {
+            return null;
+        }
+        String[] values = new String[indexedAttributes.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = SearchCriteriaMatcher.attributeValue(employee, indexedAttributes.get(i));
+        }
+        return values;
+    }
+
+    private Path resolve(String key) {
+        Path root = key.charAt(0) == 'i' ? internalDir : externalDir;
+        String relative = key.substring(2);
+        return relative.isEmpty() ? root : root.resolve(relative);
+    }
+
+    private static String key(boolean internal, String relative) {
+        return (internal ? "i:" : "e:") + relative;
+    }
+
+    private static class Directory {
+        private final long modified;
+        private final List<String> subdirectories = new ArrayList<>();
+        private final Map<String, FileEntry> files = new HashMap<>();
+
+        Directory(long modified) {
+            this.modified = modified;
+        }
+    }
+
+    private static class FileEntry {
+        private final long modified;
+        private final long size;
+        private final String[] values;
+
+        FileEntry(long modified, long size, String[] values) {
+            this.modified = modified;
+            this.size = size;
+            this.values = values;
+        }
+    }
+}
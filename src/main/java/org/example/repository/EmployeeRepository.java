@@ -1,30 +1,31 @@
 package org.example.repository;
 
 import org.example.exception.EmployeeRepositoryException;
+import org.example.metrics.Counter;
+import org.example.metrics.Histogram;
+import org.example.metrics.MetricsRegistry;
 import org.example.model.Person;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
+
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-public class EmployeeRepository {
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class EmployeeRepository implements AutoCloseable {
 
     public static final String PERSON_ID = "personId";
     public static final String FIRST_NAME = "firstName";
@@ -34,233 +35,553 @@ public class EmployeeRepository {
     public static final String PESEL = "pesel";
     public static final String IS_INTERNAL = "isInternal";
     public static final String EMPLOYEE = "employee";
-    private final String internalDirPath;
-    private final String externalDirPath;
+    public static final String EMAIL_DOMAIN = "emailDomain";
+    static final Set<String> INDEXABLE_ATTRIBUTES = Set.of(FIRST_NAME, LAST_NAME, MOBILE, EMAIL, PESEL, EMAIL_DOMAIN);
+    private final EmployeeStorage storage;
+    private final Map<String, AttributeIndex> attributeIndexes = new LinkedHashMap<>();
+    private final ForkJoinPool scanPool;
+    private final int parallelScanThreshold;
+    private final boolean orderedResults;
+    private volatile Path snapshotFile;
+    private volatile EmployeeSnapshot snapshot;
+    private final AtomicLong dataVersion = new AtomicLong();
+    private final PersonCache cache;
+    private final StripedLock locks;
+    private final PersonIdRegistry idRegistry;
+    private final MetricsRegistry metrics;
+    private final Histogram createLatency;
+    private final Histogram findLatency;
+    private final Histogram updateLatency;
+    private final Histogram deleteLatency;
+    private final Histogram recordsScanned;
+    private final Counter indexedFinds;
+    private final Counter fullScanFinds;
+    private final Counter listenerFailures;
+    private final List<EmployeeChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+    private final ChangeLog changeLog;
+    private final List<ReadReplica> replicas = new CopyOnWriteArrayList<>();
+    private final Query.IndexLookup indexLookup = new AttributeIndexLookup();
+    private EmployeeDirectoryWatcher directoryWatcher;
 
     public EmployeeRepository(String internalDirPath, String externalDirPath) {
-        this.internalDirPath = internalDirPath;
-        this.externalDirPath = externalDirPath;
+        this(internalDirPath, externalDirPath, RepositoryOptions.defaults());
     }
 
-    public void create(Person newEmployee) {
-        String directoryPath = newEmployee.isInternal() ? internalDirPath : externalDirPath;
-        String filePath = directoryPath + File.separator + newEmployee.getPersonId() + ".xml";
+    public EmployeeRepository(String internalDirPath, String externalDirPath, RepositoryOptions options) {
+        this(storage(new XmlFileStorage(internalDirPath, externalDirPath, personReader(options), options.getDirectoryLayout(), options.getManifestFile(),
+                options.getIndexedAttributes()), options), options);
+    }
 
-        if (Files.exists(Paths.get(filePath))) {
-            throw new EmployeeRepositoryException("Employee with ID " + newEmployee.getPersonId() + " already exists.");
+    private static EmployeeStorage storage(XmlFileStorage xmlStorage, RepositoryOptions options) {
+        if (options.getJournalFile() == null) {
+            return xmlStorage;
         }
+        return new JournaledEmployeeStorage(xmlStorage, options.getJournalFile(), options.getJournalCommitDelay(),
+                WriteAheadJournal.DEFAULT_CHECKPOINT_BYTES, options.getMetrics());
+    }
 
-        try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document doc = builder.newDocument();
+    private static PersonReader personReader(RepositoryOptions options) {
+        if (options.getMetrics().isEnabled()) {
+            return new MeteredPersonReader(options.getPersonReader(), options.getMetrics());
+        }
+        return options.getPersonReader();
+    }
+
+    public EmployeeRepository(EmployeeStorage storage, RepositoryOptions options) {
+        this.storage = storage;
+        this.scanPool = options.getScanParallelism() > 1 ? new ForkJoinPool(options.getScanParallelism()) : null;
+        this.parallelScanThreshold = options.getParallelScanThreshold();
+        this.orderedResults = options.isOrderedResults();
+        this.metrics = options.getMetrics();
+        this.createLatency = metrics.histogram("repository.create.nanos");
+        this.findLatency = metrics.histogram("repository.find.nanos");
+        this.updateLatency = metrics.histogram("repository.update.nanos");
+        this.deleteLatency = metrics.histogram("repository.delete.nanos");
+        this.recordsScanned = metrics.histogram("repository.find.recordsScanned");
+        this.indexedFinds = metrics.counter("repository.find.indexed");
+        this.fullScanFinds = metrics.counter("repository.find.fullScan");
+        this.listenerFailures = metrics.counter("repository.listener.failures");
+        this.locks = new StripedLock(options.getLockStripes());
+        this.cache = options.getCacheMaxEntries() > 0 ? new PersonCache(options.getCacheMaxEntries(), options.getCacheTtl()) : null;
+        this.changeLog = options.getChangeLogCapacity() > 0 ? new ChangeLog(options.getChangeLogCapacity()) : null;
+        for (String attributeName : options.getIndexedAttributes()) {
+            if (!INDEXABLE_ATTRIBUTES.contains(attributeName)) {
+                throw new EmployeeRepositoryException("Attribute " + attributeName + " cannot be indexed.");
+            }
+            attributeIndexes.put(attributeName, new AttributeIndex(attributeName));
+        }
+        rebuildAttributeIndexes();
+        this.idRegistry = new PersonIdRegistry(storage.personIds());
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (directoryWatcher != null) {
+                directoryWatcher.close();
+                directoryWatcher = null;
+            }
+        }
+        replicas.forEach(ReadReplica::close);
+        if (scanPool != null) {
+            scanPool.shutdown();
+        }
+        storage.close();
+    }
+
+    public EmployeeStorage getStorage() {
+        return storage;
+    }
 
-            Element employeeElement = doc.createElement(EMPLOYEE);
-            employeeElement.setAttribute(PERSON_ID, newEmployee.getPersonId());
-            employeeElement.setAttribute(IS_INTERNAL, String.valueOf(newEmployee.isInternal()));
+    public PersonCache getCache() {
+        return cache;
+    }
 
-            addElement(doc, employeeElement, FIRST_NAME, newEmployee.getFirstName());
-            addElement(doc, employeeElement, LAST_NAME, newEmployee.getLastName());
-            addElement(doc, employeeElement, MOBILE, newEmployee.getMobile());
-            addElement(doc, employeeElement, EMAIL, newEmployee.getEmail());
-            addElement(doc, employeeElement, PESEL, newEmployee.getPesel());
+    public PersonIdRegistry getIdRegistry() {
+        return idRegistry;
+    }
 
-            doc.appendChild(employeeElement);
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
 
-            TransformerFactory transformerFactory = TransformerFactory.newInstance();
-            Transformer transformer = transformerFactory.newTransformer();
-            DOMSource source = new DOMSource(doc);
-            StreamResult result = new StreamResult(new File(filePath));
-            transformer.transform(source, result);
-        } catch (ParserConfigurationException | TransformerException e) {
-            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+    public ChangeLog getChangeLog() {
+        return changeLog;
+    }
+
+    public ReadReplica startReadReplica() {
+        if (changeLog == null) {
+            throw new EmployeeRepositoryException("Change log is not enabled for this repository.");
         }
+        ReadReplica replica = new ReadReplica(this, metrics);
+        replica.start();
+        replicas.add(replica);
+        return replica;
     }
 
-    private void addElement(Document doc, Element parentElement, String tagName, String textContent) {
-        Element element = doc.createElement(tagName);
-        element.appendChild(doc.createTextNode(textContent));
-        parentElement.appendChild(element);
+    void replicaClosed(ReadReplica replica) {
+        replicas.remove(replica);
     }
 
-    public List<Person> find(Map<String, String> searchCriteria) {
-        List<Person> foundEmployees = new ArrayList<>();
-        foundEmployees.addAll(readEmployeesFromXML(internalDirPath, searchCriteria));
-        foundEmployees.addAll(readEmployeesFromXML(externalDirPath, searchCriteria));
-        return foundEmployees;
+    private void log(EmployeeChangeEvent.Type type, String personId, Person employee) {
+        if (changeLog != null) {
+            changeLog.append(type, personId, employee);
+        }
     }
 
-    public void delete(String personId) {
-        List<String> allFilePaths = getAllFilePaths(internalDirPath);
-        allFilePaths.addAll(getAllFilePaths(externalDirPath));
-
-        boolean found = false;
-        for (String filePath : allFilePaths) {
-            String filename = new File(filePath).getName();
-            String idFromFilename = filename.substring(0, filename.lastIndexOf('.'));
-            if (idFromFilename.equals(personId)) {
-                try {
-                    Files.deleteIfExists(Paths.get(filePath));
-                    found = true;
-                } catch (IOException e) {
-                    throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
-                }
-            }
+    public synchronized EmployeeDirectoryWatcher watchDirectories() {
+        if (directoryWatcher == null) {
+            directoryWatcher = new EmployeeDirectoryWatcher(this);
+            directoryWatcher.start();
         }
+        return directoryWatcher;
+    }
+
+    public void addChangeListener(EmployeeChangeListener listener) {
+        changeListeners.add(Objects.requireNonNull(listener));
+    }
+
+    public void removeChangeListener(EmployeeChangeListener listener) {
+        changeListeners.remove(listener);
+    }
 
-        if (!found) {
-            throw new EmployeeRepositoryException("Employee with ID " + personId + " does not exist.");
+    private void publish(EmployeeChangeEvent.Type type, String personId, Person employee, boolean external) {
+        if (changeListeners.isEmpty()) {
+            return;
+        }
+        EmployeeChangeEvent event = new EmployeeChangeEvent(type, personId, employee, external);
+        for (EmployeeChangeListener listener : changeListeners) {
+            try {
+                listener.onChange(event);
+            } catch (RuntimeException e) {
+                listenerFailures.increment();
+            }
         }
     }
 
+    void applyExternalWrite(Person employee, Path file) {
+        String personId = employee.getPersonId();
+        boolean existed;
+        Lock lock = locks.lockFor(personId);
+        lock.lock();
+        try {
+            existed = storage.contains(personId);
+            ((XmlFileStorage) storage).track(personId, file);
+            if (!existed) {
+                idRegistry.register(personId);
+            }
+            indexAttributes(employee);
+            invalidate(personId);
+            log(existed ? EmployeeChangeEvent.Type.UPDATED : EmployeeChangeEvent.Type.CREATED, personId, employee);
+        } finally {
+            lock.unlock();
+        }
+        publish(existed ? EmployeeChangeEvent.Type.UPDATED : EmployeeChangeEvent.Type.CREATED, personId, employee, true);
+    }
 
-    private void deleteFile(String filePath) {
+    void applyExternalDelete(String personId, Path file) {
+        Lock lock = locks.lockFor(personId);
+        lock.lock();
         try {
-            Files.deleteIfExists(Paths.get(filePath));
-        } catch (IOException e) {
-            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+            if (!((XmlFileStorage) storage).untrack(personId, file)) {
+                return;
+            }
+            unindexAttributes(personId);
+            invalidate(personId);
+            log(EmployeeChangeEvent.Type.DELETED, personId, null);
+        } finally {
+            lock.unlock();
         }
+        publish(EmployeeChangeEvent.Type.DELETED, personId, null, true);
     }
 
-    public void update(Person updatedPerson) {
-        List<String> allFilePaths = getAllFilePaths(internalDirPath);
-        allFilePaths.addAll(getAllFilePaths(externalDirPath));
-
-        boolean found = false;
-        for (String filePath : allFilePaths) {
-            String filename = new File(filePath).getName();
-            String idFromFilename = filename.substring(0, filename.lastIndexOf('.'));
-            if (idFromFilename.equals(updatedPerson.getPersonId())) {
-                try {
-                    DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-                    DocumentBuilder builder = factory.newDocumentBuilder();
-                    Document doc = builder.parse(new File(filePath));
-
-                    NodeList nodeList = doc.getElementsByTagName(EMPLOYEE);
-
-                    for (int i = 0; i < nodeList.getLength(); i++) {
-                        Element element = (Element) nodeList.item(i);
-                        String personId = element.getAttribute(PERSON_ID);
-                        if (personId.equals(updatedPerson.getPersonId())) {
-                            element.getElementsByTagName(FIRST_NAME).item(0).setTextContent(updatedPerson.getFirstName());
-                            element.getElementsByTagName(LAST_NAME).item(0).setTextContent(updatedPerson.getLastName());
-                            element.getElementsByTagName(MOBILE).item(0).setTextContent(updatedPerson.getMobile());
-                            element.getElementsByTagName(EMAIL).item(0).setTextContent(updatedPerson.getEmail());
-                            element.getElementsByTagName(PESEL).item(0).setTextContent(updatedPerson.getPesel());
-                            element.setAttribute(IS_INTERNAL, String.valueOf(updatedPerson.isInternal()));
-                        }
-                    }
+    public void rebuildIndex() {
+        storage.reload();
+        rebuildAttributeIndexes();
+        idRegistry.reload();
+        invalidateSnapshot();
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    public EmployeeSnapshot exportSnapshot(Path file) {
+        long version = dataVersion.get();
+        try (Stream<Person> employees = storage.scan(Collections.emptyMap())) {
+            EmployeeSnapshot exported = EmployeeSnapshot.export(employees, file);
+            snapshotFile = file;
+            if (dataVersion.get() == version) {
+                snapshot = exported;
+            }
+            return exported;
+        }
+    }
 
-                    TransformerFactory transformerFactory = TransformerFactory.newInstance();
-                    Transformer transformer = transformerFactory.newTransformer();
-                    DOMSource source = new DOMSource(doc);
-                    StreamResult result = new StreamResult(new File(filePath));
-                    transformer.transform(source, result);
+    public void dropSnapshot() {
+        snapshotFile = null;
+        snapshot = null;
+    }
 
-                    moveFileToCorrectDirectory(filePath, updatedPerson);
+    private void invalidateSnapshot() {
+        dataVersion.incrementAndGet();
+        snapshot = null;
+    }
 
-                    found = true;
-                    break;
-                } catch (ParserConfigurationException | SAXException | IOException | TransformerException e) {
-                    throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+    private void invalidate(String personId) {
+        invalidateSnapshot();
+        if (cache != null) {
+            cache.invalidate(personId);
+        }
+    }
+
+    private EmployeeSnapshot currentSnapshot() {
+        Path file = snapshotFile;
+        if (file == null) {
+            return null;
+        }
+        EmployeeSnapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null && snapshotFile != null) {
+                    current = exportSnapshot(file);
                 }
             }
         }
+        return current;
+    }
 
-        if (!found) {
-            throw new EmployeeRepositoryException("Employee with ID: " + updatedPerson.getPersonId() + " does not exist");
+    private void rebuildAttributeIndexes() {
+        if (attributeIndexes.isEmpty()) {
+            return;
+        }
+        attributeIndexes.values().forEach(AttributeIndex::clear);
+        EmployeeManifest manifest = storage instanceof XmlFileStorage ? ((XmlFileStorage) storage).getManifest() : null;
+        if (manifest != null && manifest.getIndexedAttributes().containsAll(attributeIndexes.keySet())) {
+            List<String> attributeNames = manifest.getIndexedAttributes();
+            manifest.forEachIndexedValues((personId, values) -> {
+                for (int i = 0; i < values.length; i++) {
+                    AttributeIndex index = attributeIndexes.get(attributeNames.get(i));
+                    if (index != null) {
+                        index.put(personId, values[i]);
+                    }
+                }
+            });
+            return;
+        }
+        try (Stream<Person> employees = storage.scan(Collections.emptyMap())) {
+            employees.forEach(this::indexAttributes);
         }
     }
 
-    private void moveFileToCorrectDirectory(String filePath, Person updatedPerson) throws IOException {
-        String newDirPath = updatedPerson.isInternal() ? internalDirPath : externalDirPath;
-        Path sourcePath = Paths.get(filePath);
-        Path destinationPath = Paths.get(newDirPath, sourcePath.getFileName().toString());
-        Files.move(sourcePath, destinationPath, StandardCopyOption.REPLACE_EXISTING);
+    private void indexAttributes(Person employee) {
+        for (AttributeIndex index : attributeIndexes.values()) {
+            index.put(employee.getPersonId(), SearchCriteriaMatcher.attributeValue(employee, index.getAttributeName()));
+        }
     }
 
-    private List<Person> readEmployeesFromXML(String directoryPath, Map<String, String> searchCriteria) {
-        List<Person> employees = new ArrayList<>();
+    private void unindexAttributes(String personId) {
+        for (AttributeIndex index : attributeIndexes.values()) {
+            index.remove(personId);
+        }
+    }
 
+    public void create(Person newEmployee) {
+        long start = metrics.startTime();
+        Lock lock = locks.lockFor(newEmployee.getPersonId());
+        lock.lock();
         try {
-            List<String> filePaths = getAllFilePaths(directoryPath);
-            for (String filePath : filePaths) {
-                File file = new File(filePath);
-                DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-                DocumentBuilder builder = factory.newDocumentBuilder();
-                Document doc = builder.parse(file);
-
-                NodeList nodeList = doc.getElementsByTagName(EMPLOYEE);
-
-                for (int i = 0; i < nodeList.getLength(); i++) {
-                    Element element = (Element) nodeList.item(i);
-                    String personId = element.getAttribute(PERSON_ID);
-                    String firstName = element.getElementsByTagName(FIRST_NAME).item(0).getTextContent();
-                    String lastName = element.getElementsByTagName(LAST_NAME).item(0).getTextContent();
-                    String mobile = element.getElementsByTagName(MOBILE).item(0).getTextContent();
-                    String email = element.getElementsByTagName(EMAIL).item(0).getTextContent();
-                    String pesel = element.getElementsByTagName(PESEL).item(0).getTextContent();
-                    boolean isInternal = Boolean.parseBoolean(element.getAttribute(IS_INTERNAL));
-
-                    Person employee = new Person(personId, firstName, lastName, mobile, email, pesel, isInternal);
-                    if (matchesSearchCriteria(employee, searchCriteria)) {
-                        employees.add(employee);
-                    }
-                }
+            storage.insert(newEmployee);
+            idRegistry.register(newEmployee.getPersonId());
+            indexAttributes(newEmployee);
+            invalidate(newEmployee.getPersonId());
+            log(EmployeeChangeEvent.Type.CREATED, newEmployee.getPersonId(), newEmployee);
+        } finally {
+            lock.unlock();
+        }
+        createLatency.recordSince(start);
+        publish(EmployeeChangeEvent.Type.CREATED, newEmployee.getPersonId(), newEmployee, false);
+    }
+
+    public Set<String> existingIds(Collection<String> personIds) {
+        Set<String> existing = new HashSet<>();
+        for (String personId : personIds) {
+            if (storage.contains(personId)) {
+                existing.add(personId);
             }
-        } catch (Exception e) {
-            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
         }
+        return existing;
+    }
 
-        return employees;
+    public List<Person> find(Map<String, String> searchCriteria) {
+        long start = metrics.startTime();
+        try {
+            QueryPlan plan = compile(searchCriteria);
+            Set<String> candidateIds = selectCandidateIds(searchCriteria);
+            if (candidateIds != null) {
+                List<String> personIds = new ArrayList<>(candidateIds);
+                indexedFinds.increment();
+                recordsScanned.record(personIds.size());
+                return collect(personIds.size(), () -> readCandidates(personIds.stream(), plan));
+            }
+            fullScanFinds.increment();
+            EmployeeSnapshot current = currentSnapshot();
+            if (current != null) {
+                recordsScanned.record(current.size());
+                return current.find(plan);
+            }
+            recordsScanned.record(storage.size());
+            return collect(storage.size(), () -> storage.scan(plan));
+        } finally {
+            findLatency.recordSince(start);
+        }
     }
 
-    private List<String> getAllFilePaths(String directoryPath) {
-        List<String> filePaths = new ArrayList<>();
+    public List<Person> find(Query query) {
+        long start = metrics.startTime();
+        try {
+            Set<String> candidateIds = query.candidateIds(indexLookup);
+            if (candidateIds != null) {
+                List<String> personIds = new ArrayList<>(candidateIds);
+                indexedFinds.increment();
+                recordsScanned.record(personIds.size());
+                return collect(personIds.size(), () -> readCandidates(personIds.stream(), QueryPlan.MATCH_ALL).filter(query::matches));
+            }
+            fullScanFinds.increment();
+            EmployeeSnapshot current = currentSnapshot();
+            if (current != null) {
+                recordsScanned.record(current.size());
+                return current.find(QueryPlan.MATCH_ALL).stream()
+                        .filter(query::matches)
+                        .collect(Collectors.toList());
+            }
+            recordsScanned.record(storage.size());
+            return collect(storage.size(), () -> storage.scan(QueryPlan.MATCH_ALL).filter(query::matches));
+        } finally {
+            findLatency.recordSince(start);
+        }
+    }
+
+    public Page find(Map<String, String> searchCriteria, PageRequest pageRequest) {
+        QueryPlan plan = compile(searchCriteria);
+        return page(selectCandidateIds(searchCriteria), plan::matches, () -> storage.scan(plan), pageRequest);
+    }
+
+    public Page find(Query query, PageRequest pageRequest) {
+        return page(query.candidateIds(indexLookup), query::matches,
+                () -> storage.scan(QueryPlan.MATCH_ALL).filter(query::matches), pageRequest);
+    }
 
+    private Page page(Set<String> candidateIds, Predicate<Person> filter, Supplier<Stream<Person>> scan, PageRequest pageRequest) {
+        long start = metrics.startTime();
         try {
-            Files.walk(Paths.get(directoryPath))
-                    .filter(Files::isRegularFile)
-                    .map(Path::toString)
-                    .forEach(filePaths::add);
-        } catch (IOException e) {
-            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+            Paginator paginator = new Paginator(pageRequest);
+            if (candidateIds != null) {
+                indexedFinds.increment();
+                recordsScanned.record(candidateIds.size());
+                try (Stream<Person> employees = readCandidates(new ArrayList<>(candidateIds).stream(), QueryPlan.MATCH_ALL).filter(filter)) {
+                    return paginator.collect(employees);
+                }
+            }
+            if (Paginator.isCoveredBy(pageRequest, attributeIndexes)) {
+                indexedFinds.increment();
+                AttributeIndex sortIndex = attributeIndexes.get(pageRequest.getSortFields().get(0).getAttributeName());
+                return paginator.walk(sortIndex, personId -> read(personId, QueryPlan.MATCH_ALL), filter);
+            }
+            fullScanFinds.increment();
+            recordsScanned.record(storage.size());
+            try (Stream<Person> employees = scan.get()) {
+                return paginator.collect(employees);
+            }
+        } finally {
+            findLatency.recordSince(start);
+        }
+    }
+
+    public Stream<Person> stream(Query query) {
+        Set<String> candidateIds = query.candidateIds(indexLookup);
+        if (candidateIds != null) {
+            return readCandidates(candidateIds.stream(), QueryPlan.MATCH_ALL).filter(query::matches);
+        }
+        return storage.scan(QueryPlan.MATCH_ALL).filter(query::matches);
+    }
+
+    public Stream<Person> stream(Map<String, String> searchCriteria) {
+        QueryPlan plan = compile(searchCriteria);
+        Set<String> candidateIds = selectCandidateIds(searchCriteria);
+        if (candidateIds != null) {
+            return readCandidates(candidateIds.stream(), plan);
+        }
+        return storage.scan(plan);
+    }
+
+    private QueryPlan compile(Map<String, String> searchCriteria) {
+        return QueryPlan.compile(searchCriteria, attributeName -> {
+            AttributeIndex index = attributeIndexes.get(attributeName);
+            return index == null ? 0 : index.distinctValues();
+        });
+    }
+
+    private Stream<Person> readCandidates(Stream<String> personIds, QueryPlan plan) {
+        return personIds.map(personId -> read(personId, plan))
+                .filter(Objects::nonNull);
+    }
+
+    private Person read(String personId, QueryPlan plan) {
+        if (cache == null) {
+            return storage.read(personId, plan);
         }
 
-        return filePaths;
+        Person employee = cache.get(personId);
+        if (employee == null) {
+            long version = cache.version(personId);
+            employee = storage.read(personId, Collections.emptyMap());
+            if (employee == null) {
+                return null;
+            }
+            cache.putIfUnchanged(employee, version);
+        }
+        return plan.matches(employee) ? employee : null;
     }
 
-    private boolean matchesSearchCriteria(Person employee, Map<String, String> searchCriteria) {
-        if (searchCriteria.isEmpty()) {
-            return true;
+    private List<Person> collect(int estimatedSize, Supplier<Stream<Person>> source) {
+        if (scanPool == null || estimatedSize < parallelScanThreshold) {
+            try (Stream<Person> employees = source.get()) {
+                return employees.collect(Collectors.toList());
+            }
         }
+
+        return scanPool.submit(() -> {
+            try (Stream<Person> employees = source.get()) {
+                Stream<Person> parallel = orderedResults ? employees.parallel() : employees.parallel().unordered();
+                return parallel.collect(Collectors.toList());
+            }
+        }).join();
+    }
+
+    private Set<String> selectCandidateIds(Map<String, String> searchCriteria) {
+        if (searchCriteria.containsKey(PERSON_ID)) {
+            String personId = searchCriteria.get(PERSON_ID);
+            if (personId == null || !storage.contains(personId)) {
+                return Collections.emptySet();
+            }
+            return Collections.singleton(personId);
+        }
+
+        Set<String> mostSelective = null;
         for (Map.Entry<String, String> entry : searchCriteria.entrySet()) {
-            String attributeName = entry.getKey();
-            String attributeValue = entry.getValue();
-            String employeeAttributeValue = getAttributeValue(employee, attributeName);
-            if (employeeAttributeValue == null || !employeeAttributeValue.equalsIgnoreCase(attributeValue)) {
-                return false;
+            AttributeIndex index = attributeIndexes.get(entry.getKey());
+            if (index == null) {
+                continue;
+            }
+            Set<String> candidates = index.lookup(entry.getValue());
+            if (mostSelective == null || candidates.size() < mostSelective.size()) {
+                mostSelective = candidates;
             }
         }
-        return true;
-    }
-
-    private String getAttributeValue(Person employee, String attributeName) {
-        switch (attributeName) {
-            case PERSON_ID:
-                return employee.getPersonId();
-            case FIRST_NAME:
-                return employee.getFirstName();
-            case LAST_NAME:
-                return employee.getLastName();
-            case MOBILE:
-                return employee.getMobile();
-            case EMAIL:
-                return employee.getEmail();
-            case PESEL:
-                return employee.getPesel();
-            default:
-                return null;
+        return mostSelective;
+    }
+
+    public void delete(String personId) {
+        long start = metrics.startTime();
+        Lock lock = locks.lockFor(personId);
+        lock.lock();
+        try {
+            storage.remove(personId);
+            log(EmployeeChangeEvent.Type.DELETED, personId, null);
+        } finally {
+            if (!storage.contains(personId)) {
+                unindexAttributes(personId);
+            }
+            invalidate(personId);
+            lock.unlock();
+            deleteLatency.recordSince(start);
+        }
+        publish(EmployeeChangeEvent.Type.DELETED, personId, null, false);
+    }
+
+    public void update(Person updatedPerson) {
+        long start = metrics.startTime();
+        Lock lock = locks.lockFor(updatedPerson.getPersonId());
+        lock.lock();
+        try {
+            storage.replace(updatedPerson);
+            indexAttributes(updatedPerson);
+            invalidate(updatedPerson.getPersonId());
+            log(EmployeeChangeEvent.Type.UPDATED, updatedPerson.getPersonId(), updatedPerson);
+        } catch (EmployeeRepositoryException e) {
+            if (!storage.contains(updatedPerson.getPersonId())) {
+                unindexAttributes(updatedPerson.getPersonId());
+            }
+            throw e;
+        } finally {
+            lock.unlock();
+        }
+        updateLatency.recordSince(start);
+        publish(EmployeeChangeEvent.Type.UPDATED, updatedPerson.getPersonId(), updatedPerson, false);
+    }
+
+    private class AttributeIndexLookup implements Query.IndexLookup {
+
+        @Override
+        public Set<String> equalTo(String attributeName, String value) {
+            if (PERSON_ID.equals(attributeName)) {
+                return storage.contains(value) ? Collections.singleton(value) : Collections.emptySet();
+            }
+            AttributeIndex index = attributeIndexes.get(attributeName);
+            return index == null ? null : new HashSet<>(index.lookup(value));
+        }
+
+        @Override
+        public Set<String> prefix(String attributeName, String prefix) {
+            AttributeIndex index = attributeIndexes.get(attributeName);
+            return index == null ? null : index.lookupPrefix(prefix);
+        }
+
+        @Override
+        public Set<String> range(String attributeName, String from, String to) {
+            AttributeIndex index = attributeIndexes.get(attributeName);
+            return index == null ? null : index.lookupRange(from, to);
         }
     }
 }
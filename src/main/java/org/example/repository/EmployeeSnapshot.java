@@ -0,0 +1,213 @@
+package org.example.repository;
+
+import org.example.exception.EmployeeRepositoryException;
+import org.example.model.Person;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public class EmployeeSnapshot {
+
+    private static final int MAGIC = 0x454D5031;
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final int IS_INTERNAL_FIELD = -1;
+    private static final int EMAIL_DOMAIN_FIELD = -2;
+    private static final String[] FIELDS = {
+            EmployeeRepository.PERSON_ID,
+            EmployeeRepository.FIRST_NAME,
+            EmployeeRepository.LAST_NAME,
+            EmployeeRepository.MOBILE,
+            EmployeeRepository.EMAIL,
+            EmployeeRepository.PESEL
+    };
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final int recordCount;
+
+    private EmployeeSnapshot(Path file, MappedByteBuffer buffer, int recordCount) {
+        this.file = file;
+        this.buffer = buffer;
+        this.recordCount = recordCount;
+    }
+
+    public static EmployeeSnapshot export(Stream<Person> employees, Path file) {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        int count = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeInt(0);
+            Iterator<Person> iterator = employees.iterator();
+            while (iterator.hasNext()) {
+                writeRecord(out, iterator.next());
+                count++;
+            }
+        } catch (IOException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        }
+
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, count), Integer.BYTES);
+            channel.force(true);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        }
+        return open(file);
+    }
+
+    public static EmployeeSnapshot open(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new EmployeeRepositoryException("Snapshot " + file + " is too large to be mapped.");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+                throw new EmployeeRepositoryException("File " + file + " is not an employee snapshot.");
+            }
+            return new EmployeeSnapshot(file, buffer, buffer.getInt(Integer.BYTES));
+        } catch (IOException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public int size() {
+        return recordCount;
+    }
+
+    public List<Person> find(Map<String, String> searchCriteria) {
+        return find(QueryPlan.compile(searchCriteria));
+    }
+
+    public List<Person> find(QueryPlan plan) {
+        List<Person> employees = new ArrayList<>();
+        if (plan.isUnsatisfiable()) {
+            return employees;
+        }
+        List<QueryPlan.Condition> conditions = plan.getConditions();
+        int[] fields = new int[conditions.size()];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = fieldIndex(conditions.get(i).getAttributeName());
+        }
+
+        ByteBuffer records = buffer.duplicate();
+        records.position(HEADER_BYTES);
+
+        for (int i = 0; i < recordCount; i++) {
+            int start = records.position();
+            int length = records.getInt(start);
+            if (matches(records, start, conditions, fields)) {
+                employees.add(readRecord(records, start));
+            }
+            records.position(start + Integer.BYTES + length);
+        }
+        return employees;
+    }
+
+    private static boolean matches(ByteBuffer records, int start, List<QueryPlan.Condition> conditions, int[] fields) {
+        for (int i = 0; i < fields.length; i++) {
+            String value;
+            if (fields[i] == IS_INTERNAL_FIELD) {
+                value = records.get(start + Integer.BYTES) != 0 ? "true" : "false";
+            } else if (fields[i] == EMAIL_DOMAIN_FIELD) {
+                value = PersonAttribute.emailDomain(readField(records, fieldOffset(records, start, fieldIndex(EmployeeRepository.EMAIL))));
+            } else {
+                value = readField(records, fieldOffset(records, start, fields[i]));
+            }
+            if (!conditions.get(i).matchesValue(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Person readRecord(ByteBuffer records, int start) {
+        String[] values = new String[FIELDS.length];
+        int offset = start + Integer.BYTES + 1;
+        for (int i = 0; i < FIELDS.length; i++) {
+            values[i] = readField(records, offset);
+            offset += Short.BYTES + Math.max(0, records.getShort(offset));
+        }
+        boolean isInternal = records.get(start + Integer.BYTES) != 0;
+        return new Person(values[0], values[1], values[2], values[3], values[4], values[5], isInternal);
+    }
+
+    private static int fieldOffset(ByteBuffer records, int start, int field) {
+        int offset = start + Integer.BYTES + 1;
+        for (int i = 0; i < field; i++) {
+            offset += Short.BYTES + Math.max(0, records.getShort(offset));
+        }
+        return offset;
+    }
+
+    private static String readField(ByteBuffer records, int offset) {
+        short length = records.getShort(offset);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        records.get(offset + Short.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int fieldIndex(String attributeName) {
+        if (EmployeeRepository.EMAIL_DOMAIN.equals(attributeName)) {
+            return EMAIL_DOMAIN_FIELD;
+        }
+        for (int i = 0; i < FIELDS.length; i++) {
+            if (FIELDS[i].equals(attributeName)) {
+                return i;
+            }
+        }
+        return IS_INTERNAL_FIELD;
+    }
+
+    private static void writeRecord(DataOutputStream out, Person employee) throws IOException {
+        String[] values = {
+                employee.getPersonId(),
+                employee.getFirstName(),
+                employee.getLastName(),
+                employee.getMobile(),
+                employee.getEmail(),
+                employee.getPesel()
+        };
+        byte[][] encoded = new byte[values.length][];
+        int length = 1;
+        for (int i = 0; i < values.length; i++) {
+            encoded[i] = values[i] == null ? null : values[i].getBytes(StandardCharsets.UTF_8);
+            if (encoded[i] != null && encoded[i].length > Short.MAX_VALUE) {
+                throw new EmployeeRepositoryException("Value of " + FIELDS[i] + " is too long for a snapshot.");
+            }
+            length += Short.BYTES + (encoded[i] == null ? 0 : encoded[i].length);
+        }
+
+        out.writeInt(length);
+        out.writeByte(employee.isInternal() ? 1 : 0);
+        for (byte[] value : encoded) {
+            if (value == null) {
+                out.writeShort(-1);
+            } else {
+                out.writeShort(value.length);
+                out.write(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.repository;
+
+import org.example.model.Person;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface EmployeeStorage extends AutoCloseable {
+
+    void insert(Person employee);
+
+    void replace(Person employee);
+
+    void remove(String personId);
+
+    boolean contains(String personId);
+
+    Person read(String personId, QueryPlan plan);
+
+    Stream<Person> scan(QueryPlan plan);
+
+    default Person read(String personId, Map<String, String> searchCriteria) {
+        return read(personId, QueryPlan.compile(searchCriteria));
+    }
+
+    default Stream<Person> scan(Map<String, String> searchCriteria) {
+        return scan(QueryPlan.compile(searchCriteria));
+    }
+
+    Set<String> personIds();
+
+    int size();
+
+    void reload();
+
+    default void sync() {
+    }
+
+    @Override
+    void close();
+}
@@ -0,0 +1,59 @@
+package org.example.repository;
+
+import org.example.model.Person;
+
+public class EmployeeView {
+
+    private final CompactEmployeeStore store;
+    private int row;
+
+    EmployeeView(CompactEmployeeStore store, int row) {
+        this.store = store;
+        this.row = row;
+    }
+
+    void moveTo(int row) {
+        this.row = row;
+    }
+
+    public String getPersonId() {
+        return store.personId(row);
+    }
+
+    public String getFirstName() {
+        return store.firstName(row);
+    }
+
+    public String getLastName() {
+        return store.lastName(row);
+    }
+
+    public String getMobile() {
+        return store.mobile(row);
+    }
+
+    public String getEmail() {
+        return store.email(row);
+    }
+
+    public String getEmailDomain() {
+        return store.emailDomain(row);
+    }
+
+    public String getPesel() {
+        return store.pesel(row);
+    }
+
+    public boolean isInternal() {
+        return store.isInternal(row);
+    }
+
+    public Person toPerson() {
+        return new Person(getPersonId(), getFirstName(), getLastName(), getMobile(), getEmail(), getPesel(), isInternal());
+    }
+
+    @Override
+    public String toString() {
+        return toPerson().toString();
+    }
+}
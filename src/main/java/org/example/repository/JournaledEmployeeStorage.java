@@ -0,0 +1,257 @@
+package org.example.repository;
+
+import org.example.exception.EmployeeRepositoryException;
+import org.example.metrics.Counter;
+import org.example.metrics.MetricsRegistry;
+import org.example.metrics.NoOpMetricsRegistry;
+import org.example.model.Person;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+public class JournaledEmployeeStorage implements EmployeeStorage {
+
+    private final EmployeeStorage delegate;
+    private final WriteAheadJournal journal;
+    private final Map<String, WriteAheadJournal.Entry> pending = new ConcurrentHashMap<>();
+    private final Set<String> personIds = ConcurrentHashMap.newKeySet();
+    private final Map<String, WriteAheadJournal.Entry> failed = new LinkedHashMap<>();
+    private final Counter applyFailures;
+    private final Counter checkpointFailures;
+    private volatile RuntimeException lastApplyFailure;
+
+    public JournaledEmployeeStorage(EmployeeStorage delegate, Path journalFile, Duration maxCommitDelay) {
+        this(delegate, journalFile, maxCommitDelay, WriteAheadJournal.DEFAULT_CHECKPOINT_BYTES, NoOpMetricsRegistry.INSTANCE);
+    }
+
+    public JournaledEmployeeStorage(EmployeeStorage delegate, Path journalFile, Duration maxCommitDelay, long checkpointBytes) {
+        this(delegate, journalFile, maxCommitDelay, checkpointBytes, NoOpMetricsRegistry.INSTANCE);
+    }
+
+    public JournaledEmployeeStorage(EmployeeStorage delegate, Path journalFile, Duration maxCommitDelay, long checkpointBytes,
+                                    MetricsRegistry metrics) {
+        this.delegate = delegate;
+        this.applyFailures = metrics.counter("journal.apply.failures");
+        this.checkpointFailures = metrics.counter("journal.checkpoint.failures");
+        delegate.sync();
+        this.journal = new WriteAheadJournal(journalFile, maxCommitDelay, checkpointBytes, this::applyAll, this::checkpoint);
+        List<WriteAheadJournal.Entry> unapplied = journal.readAll();
+        if (!unapplied.isEmpty()) {
+            for (WriteAheadJournal.Entry entry : unapplied) {
+                apply(entry);
+            }
+            checkpoint();
+        }
+        personIds.addAll(delegate.personIds());
+    }
+
+    public EmployeeStorage getDelegate() {
+        return delegate;
+    }
+
+    public WriteAheadJournal getJournal() {
+        return journal;
+    }
+
+    public void flush() {
+        journal.awaitApplied();
+        if (!retryFailed()) {
+            throw new EmployeeRepositoryException("Journaled changes could not be applied to storage.", lastApplyFailure);
+        }
+    }
+
+    public synchronized int getUnappliedCount() {
+        return failed.size();
+    }
+
+    @Override
+    public void insert(Person employee) {
+        if (contains(employee.getPersonId())) {
+            throw new EmployeeRepositoryException("Employee with ID " + employee.getPersonId() + " already exists.");
+        }
+        log(WriteAheadJournal.Entry.put(employee));
+    }
+
+    @Override
+    public void replace(Person employee) {
+        if (!contains(employee.getPersonId())) {
+            throw new EmployeeRepositoryException("Employee with ID: " + employee.getPersonId() + " does not exist");
+        }
+        log(WriteAheadJournal.Entry.put(employee));
+    }
+
+    @Override
+    public void remove(String personId) {
+        if (!contains(personId)) {
+            throw new EmployeeRepositoryException("Employee with ID " + personId + " does not exist.");
+        }
+        log(WriteAheadJournal.Entry.delete(personId));
+    }
+
+    @Override
+    public boolean contains(String personId) {
+        return personId != null && personIds.contains(personId);
+    }
+
+    @Override
+    public Person read(String personId, QueryPlan plan) {
+        WriteAheadJournal.Entry entry = personId == null ? null : pending.get(personId);
+        if (entry == null) {
+            return delegate.read(personId, plan);
+        }
+        if (entry.getType() == WriteAheadJournal.Entry.Type.DELETE) {
+            return null;
+        }
+        return plan.matches(entry.getEmployee()) ? entry.getEmployee() : null;
+    }
+
+    @Override
+    public Stream<Person> scan(QueryPlan plan) {
+        Map<String, WriteAheadJournal.Entry> overlay = new HashMap<>(pending);
+        if (overlay.isEmpty()) {
+            return delegate.scan(plan);
+        }
+        Stream<Person> pendingEmployees = overlay.values().stream()
+                .filter(entry -> entry.getType() == WriteAheadJournal.Entry.Type.PUT)
+                .map(WriteAheadJournal.Entry::getEmployee)
+                .filter(plan::matches);
+        return Stream.concat(delegate.scan(plan).filter(employee -> !overlay.containsKey(employee.getPersonId())),
+                pendingEmployees);
+    }
+
+    @Override
+    public Set<String> personIds() {
+        return personIds;
+    }
+
+    @Override
+    public int size() {
+        return personIds.size();
+    }
+
+    @Override
+    public void reload() {
+        flush();
+        delegate.reload();
+        Set<String> reloaded = delegate.personIds();
+        personIds.retainAll(reloaded);
+        personIds.addAll(reloaded);
+        pending.forEach((personId, entry) -> {
+            if (entry.getType() == WriteAheadJournal.Entry.Type.PUT) {
+                personIds.add(personId);
+            } else {
+                personIds.remove(personId);
+            }
+        });
+    }
+
+    @Override
+    public void sync() {
+        flush();
+        delegate.sync();
+    }
+
+    @Override
+    public void close() {
+        journal.close();
+        retryFailed();
+        delegate.close();
+    }
+
+    private void log(WriteAheadJournal.Entry entry) {
+        String personId = entry.getPersonId();
+        WriteAheadJournal.Entry previous = pending.put(personId, entry);
+        boolean existed = personIds.contains(personId);
+        if (entry.getType() == WriteAheadJournal.Entry.Type.PUT) {
+            personIds.add(personId);
+        } else {
+            personIds.remove(personId);
+        }
+
+        try {
+            journal.append(entry).join();
+        } catch (CompletionException | EmployeeRepositoryException e) {
+            if (previous == null) {
+                pending.remove(personId, entry);
+            } else {
+                pending.replace(personId, entry, previous);
+            }
+            if (existed) {
+                personIds.add(personId);
+            } else {
+                personIds.remove(personId);
+            }
+            if (e.getCause() instanceof EmployeeRepositoryException) {
+                throw (EmployeeRepositoryException) e.getCause();
+            }
+            throw e instanceof EmployeeRepositoryException
+                    ? (EmployeeRepositoryException) e
+                    : new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        }
+    }
+
+    private synchronized boolean applyAll(List<WriteAheadJournal.Entry> entries) {
+        for (WriteAheadJournal.Entry entry : entries) {
+            failed.remove(entry.getPersonId());
+        }
+        retryFailed();
+        for (WriteAheadJournal.Entry entry : entries) {
+            tryApply(entry);
+        }
+        return failed.isEmpty();
+    }
+
+    private synchronized boolean retryFailed() {
+        if (failed.isEmpty()) {
+            return true;
+        }
+        List<WriteAheadJournal.Entry> retries = new ArrayList<>(failed.values());
+        failed.clear();
+        for (WriteAheadJournal.Entry entry : retries) {
+            tryApply(entry);
+        }
+        return failed.isEmpty();
+    }
+
+    private void tryApply(WriteAheadJournal.Entry entry) {
+        try {
+            apply(entry);
+            pending.remove(entry.getPersonId(), entry);
+        } catch (RuntimeException e) {
+            failed.put(entry.getPersonId(), entry);
+            lastApplyFailure = e;
+            applyFailures.increment();
+        }
+    }
+
+    private void checkpoint() {
+        try {
+            delegate.sync();
+            journal.truncate();
+        } catch (RuntimeException e) {
+            checkpointFailures.increment();
+            throw e;
+        }
+    }
+
+    private void apply(WriteAheadJournal.Entry entry) {
+        if (entry.getType() == WriteAheadJournal.Entry.Type.PUT) {
+            if (delegate.contains(entry.getPersonId())) {
+                delegate.replace(entry.getEmployee());
+            } else {
+                delegate.insert(entry.getEmployee());
+            }
+        } else if (delegate.contains(entry.getPersonId())) {
+            delegate.remove(entry.getPersonId());
+        }
+    }
+}
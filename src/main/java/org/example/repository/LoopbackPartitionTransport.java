@@ -0,0 +1,51 @@
+package org.example.repository;
+
+import org.example.exception.EmployeeRepositoryException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LoopbackPartitionTransport implements PartitionTransport {
+
+    private final Map<String, PartitionNode> nodes = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+
+    public LoopbackPartitionTransport() {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "partition-loopback-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public LoopbackPartitionTransport register(String nodeId, PartitionNode node) {
+        nodes.put(nodeId, node);
+        return this;
+    }
+
+    public PartitionNode unregister(String nodeId) {
+        return nodes.remove(nodeId);
+    }
+
+    @Override
+    public CompletableFuture<byte[]> send(String nodeId, byte[] request) {
+        PartitionNode node = nodes.get(nodeId);
+        if (node == null) {
+            return CompletableFuture.failedFuture(new EmployeeRepositoryException("Partition node " + nodeId + " is unreachable."));
+        }
+        byte[] copy = request.clone();
+        return CompletableFuture.supplyAsync(() -> node.handle(copy), executor);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        nodes.values().forEach(PartitionNode::close);
+        nodes.clear();
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.repository;
+
+import org.example.metrics.Counter;
+import org.example.metrics.Histogram;
+import org.example.metrics.MetricsRegistry;
+import org.example.model.Person;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class MeteredPersonReader implements PersonReader {
+
+    private final PersonReader delegate;
+    private final Counter filesParsed;
+    private final Histogram parseTime;
+    private final Histogram filterTime;
+
+    public MeteredPersonReader(PersonReader delegate, MetricsRegistry metrics) {
+        this.delegate = delegate;
+        this.filesParsed = metrics.counter("repository.files.parsed");
+        this.parseTime = metrics.histogram("repository.parse.nanos");
+        this.filterTime = metrics.histogram("repository.filter.nanos");
+    }
+
+    @Override
+    public List<Person> read(Path file, QueryPlan plan) {
+        long parseStart = System.nanoTime();
+        List<Person> employees = delegate.readAll(file);
+        filesParsed.increment();
+        parseTime.recordSince(parseStart);
+
+        if (plan.isMatchAll()) {
+            return employees;
+        }
+        long filterStart = System.nanoTime();
+        List<Person> matching = new ArrayList<>(employees.size());
+        for (Person employee : employees) {
+            if (plan.matches(employee)) {
+                matching.add(employee);
+            }
+        }
+        filterTime.recordSince(filterStart);
+        return matching;
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.repository;
+
+import org.example.model.Person;
+
+import java.util.List;
+
+public class Page {
+
+    private final List<Person> content;
+    private final String nextCursor;
+
+    public Page(List<Person> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Person> getContent() {
+        return content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
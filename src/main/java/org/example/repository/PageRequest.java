@@ -0,0 +1,75 @@
+package org.example.repository;
+
+import org.example.exception.ValidationException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class PageRequest {
+
+    private final int size;
+    private final List<SortField> sortFields;
+    private final String cursor;
+
+    private PageRequest(int size, List<SortField> sortFields, String cursor) {
+        this.size = size;
+        this.sortFields = sortFields;
+        this.cursor = cursor;
+    }
+
+    public static PageRequest of(int size) {
+        if (size < 1) {
+            throw new ValidationException("Page size must be positive");
+        }
+        return new PageRequest(size, Collections.emptyList(), null);
+    }
+
+    public PageRequest sortBy(String attributeName, boolean ascending) {
+        PersonAttribute attribute = attributeName == null ? null : PersonAttribute.forName(attributeName);
+        if (attribute == null) {
+            throw new ValidationException("Invalid sort key: " + attributeName);
+        }
+        List<SortField> fields = new ArrayList<>(sortFields);
+        fields.add(new SortField(attribute, ascending));
+        return new PageRequest(size, Collections.unmodifiableList(fields), cursor);
+    }
+
+    public PageRequest after(String cursor) {
+        return new PageRequest(size, sortFields, cursor);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public List<SortField> getSortFields() {
+        return sortFields;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public static class SortField {
+        private final PersonAttribute attribute;
+        private final boolean ascending;
+
+        private SortField(PersonAttribute attribute, boolean ascending) {
+            this.attribute = attribute;
+            this.ascending = ascending;
+        }
+
+        public String getAttributeName() {
+            return attribute.getName();
+        }
+
+        public boolean isAscending() {
+            return ascending;
+        }
+
+        PersonAttribute getAttribute() {
+            return attribute;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package org.example.repository;
+
+import org.example.exception.ValidationException;
+import org.example.model.Person;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+final class Paginator {
+
+    private final PageRequest request;
+    private final List<PageRequest.SortField> sortFields;
+    private final Comparator<SortKey> order;
+    private final SortKey after;
+
+    Paginator(PageRequest request) {
+        this.request = request;
+        this.sortFields = request.getSortFields();
+        this.order = this::compare;
+        this.after = request.getCursor() == null ? null : decode(request.getCursor());
+    }
+
+    Page collect(Stream<Person> employees) {
+        int limit = request.getSize() + 1;
+        PriorityQueue<Entry> heap = new PriorityQueue<>(limit + 1, (first, second) -> order.compare(second.key, first.key));
+        Iterator<Person> iterator = employees.iterator();
+        while (iterator.hasNext()) {
+            Person employee = iterator.next();
+            SortKey key = keyOf(employee);
+            if (after != null && order.compare(key, after) <= 0) {
+                continue;
+            }
+            if (heap.size() < limit) {
+                heap.offer(new Entry(key, employee));
+            } else if (order.compare(key, heap.peek().key) < 0) {
+                heap.poll();
+                heap.offer(new Entry(key, employee));
+            }
+        }
+
+        List<Entry> ordered = new ArrayList<>(heap);
+        ordered.sort((first, second) -> order.compare(first.key, second.key));
+        return toPage(ordered);
+    }
+
+    Page walk(AttributeIndex index, Function<String, Person> reader, Predicate<Person> filter) {
+        PageRequest.SortField sortField = sortFields.get(0);
+        int limit = request.getSize() + 1;
+        List<Entry> collected = new ArrayList<>(limit);
+
+        NavigableMap<String, Set<String>> values = index.sortedValues();
+        String afterValue = after == null ? null : after.values[0];
+        if (afterValue != null) {
+            values = sortField.isAscending() ? values.tailMap(afterValue, true) : values.headMap(afterValue, true);
+        }
+        if (!sortField.isAscending()) {
+            values = values.descendingMap();
+        }
+
+        boolean nullsFirst = sortField.isAscending();
+        if (nullsFirst && (after == null || afterValue == null)) {
+            collectFrom(index.idsWithoutValue(), reader, filter, collected, limit);
+        }
+        for (Map.Entry<String, Set<String>> entry : values.entrySet()) {
+            if (collected.size() >= limit) {
+                break;
+            }
+            collectFrom(entry.getValue(), reader, filter, collected, limit);
+        }
+        if (!nullsFirst) {
+            collectFrom(index.idsWithoutValue(), reader, filter, collected, limit);
+        }
+
+        collected.sort((first, second) -> order.compare(first.key, second.key));
+        return toPage(collected);
+    }
+
+    static boolean isCoveredBy(PageRequest request, Map<String, AttributeIndex> indexes) {
+        return request.getSortFields().size() == 1
+                && indexes.containsKey(request.getSortFields().get(0).getAttributeName());
+    }
+
+    private void collectFrom(Collection<String> personIds, Function<String, Person> reader, Predicate<Person> filter,
+                             List<Entry> collected, int limit) {
+        if (collected.size() >= limit || personIds.isEmpty()) {
+            return;
+        }
+        for (String personId : new TreeSet<>(personIds)) {
+            if (collected.size() >= limit) {
+                return;
+            }
+            Person employee = reader.apply(personId);
+            if (employee == null || !filter.test(employee)) {
+                continue;
+            }
+            SortKey key = keyOf(employee);
+            if (after == null || order.compare(key, after) > 0) {
+                collected.add(new Entry(key, employee));
+            }
+        }
+    }
+
+    private Page toPage(List<Entry> ordered) {
+        if (ordered.size() <= request.getSize()) {
+            List<Person> content = new ArrayList<>(ordered.size());
+            ordered.forEach(entry -> content.add(entry.employee));
+            return new Page(content, null);
+        }
+        List<Person> content = new ArrayList<>(request.getSize());
+        for (int i = 0; i < request.getSize(); i++) {
+            content.add(ordered.get(i).employee);
+        }
+        return new Page(content, encode(ordered.get(request.getSize() - 1).key));
+    }
+
+    private SortKey keyOf(Person employee) {
+        String[] values = new String[sortFields.size()];
+        for (int i = 0; i < values.length; i++) {
+            String value = sortFields.get(i).getAttribute().valueOf(employee);
+            values[i] = value == null ? null : AttributeIndex.normalize(value);
+        }
+        return new SortKey(values, employee.getPersonId());
+    }
+
+    private int compare(SortKey first, SortKey second) {
+        for (int i = 0; i < sortFields.size(); i++) {
+            int result = compareNullable(first.values[i], second.values[i]);
+            if (result != 0) {
+                return sortFields.get(i).isAscending() ? result : -result;
+            }
+        }
+        return compareNullable(first.personId, second.personId);
+    }
+
+    private static int compareNullable(String first, String second) {
+        if (first == null) {
+            return second == null ? 0 : -1;
+        }
+        return second == null ? 1 : first.compareTo(second);
+    }
+
+    private String encode(SortKey key) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(key.values.length);
+            for (String value : key.values) {
+                writeNullable(out, value);
+            }
+            writeNullable(out, key.personId);
+        } catch (IOException e) {
+            throw new ValidationException("Invalid page cursor");
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    private SortKey decode(String cursor) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+            int count = in.readUnsignedByte();
+            if (count != sortFields.size()) {
+                throw new ValidationException("Page cursor does not match the requested sort");
+            }
+            String[] values = new String[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = readNullable(in);
+            }
+            return new SortKey(values, readNullable(in));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new ValidationException("Invalid page cursor");
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static class SortKey {
+        private final String[] values;
+        private final String personId;
+
+        private SortKey(String[] values, String personId) {
+            this.values = values;
+            this.personId = personId;
+        }
+    }
+
+    private static class Entry {
+        private final SortKey key;
+        private final Person employee;
+
+        private Entry(SortKey key, Person employee) {
+            this.key = key;
+            this.employee = employee;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package org.example.repository;
+
+import org.example.exception.EmployeeRepositoryException;
+import org.example.model.Person;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+public class PartitionNode implements AutoCloseable {
+
+    private static final long SCAN_IDLE_TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final EmployeeStorage storage;
+    private final Map<Long, ScanSession> scans = new ConcurrentHashMap<>();
+    private final AtomicLong scanIds = new AtomicLong();
+
+    public PartitionNode(EmployeeStorage storage) {
+        this.storage = storage;
+    }
+
+    public EmployeeStorage getStorage() {
+        return storage;
+    }
+
+    public int getOpenScanCount() {
+        return scans.size();
+    }
+
+    public byte[] handle(byte[] request) {
+        try {
+            return PartitionProtocol.decode(request, this::dispatch);
+        } catch (RuntimeException e) {
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            return PartitionProtocol.encode(out -> {
+                out.writeByte(PartitionProtocol.ERROR);
+                out.writeUTF(message);
+            });
+        }
+    }
+
+    private byte[] dispatch(DataInput in) throws IOException {
+        byte operation = in.readByte();
+        switch (operation) {
+            case PartitionProtocol.INSERT:
+                storage.insert(PersonRecordCodec.read(in));
+                return ok(out -> {
+                });
+            case PartitionProtocol.REPLACE:
+                storage.replace(PersonRecordCodec.read(in));
+                return ok(out -> {
+                });
+            case PartitionProtocol.REMOVE:
+                storage.remove(in.readUTF());
+                return ok(out -> {
+                });
+            case PartitionProtocol.CONTAINS: {
+                boolean contains = storage.contains(in.readUTF());
+                return ok(out -> out.writeBoolean(contains));
+            }
+            case PartitionProtocol.READ: {
+                String personId = in.readUTF();
+                Person employee = storage.read(personId, PartitionProtocol.readPlan(in));
+                return ok(out -> {
+                    out.writeBoolean(employee != null);
+                    if (employee != null) {
+                        PersonRecordCodec.write(out, employee);
+                    }
+                });
+            }
+            case PartitionProtocol.SCAN: {
+                QueryPlan plan = PartitionProtocol.readPlan(in);
+                int chunkSize = in.readInt();
+                expireIdleScans();
+                ScanSession session = new ScanSession(scanIds.incrementAndGet(), storage.scan(plan), chunkSize);
+                scans.put(session.id, session);
+                return nextChunk(session);
+            }
+            case PartitionProtocol.SCAN_NEXT: {
+                long scanId = in.readLong();
+                ScanSession session = scans.get(scanId);
+                if (session == null) {
+                    throw new EmployeeRepositoryException("Scan " + scanId + " is not open.");
+                }
+                return nextChunk(session);
+            }
+            case PartitionProtocol.SCAN_CLOSE: {
+                ScanSession session = scans.remove(in.readLong());
+                if (session != null) {
+                    session.close();
+                }
+                return ok(out -> {
+                });
+            }
+            case PartitionProtocol.PERSON_IDS:
+                return ok(out -> PartitionProtocol.writeIds(out, storage.personIds()));
+            case PartitionProtocol.SIZE:
+                return ok(out -> out.writeInt(storage.size()));
+            case PartitionProtocol.RELOAD:
+                storage.reload();
+                return ok(out -> {
+                });
+            default:
+                throw new EmployeeRepositoryException("Unknown partition operation " + operation + ".");
+        }
+    }
+
+    private byte[] nextChunk(ScanSession session) {
+        List<Person> employees;
+        boolean hasMore;
+        synchronized (session) {
+            session.lastAccess = System.nanoTime();
+            employees = new ArrayList<>(session.chunkSize);
+            try {
+                while (employees.size() < session.chunkSize && session.iterator.hasNext()) {
+                    employees.add(session.iterator.next());
+                }
+                hasMore = session.iterator.hasNext();
+            } catch (RuntimeException e) {
+                scans.remove(session.id);
+                session.close();
+                throw e;
+            }
+        }
+        if (!hasMore) {
+            scans.remove(session.id);
+            session.close();
+        }
+        return ok(out -> {
+            out.writeLong(session.id);
+            out.writeBoolean(hasMore);
+            PartitionProtocol.writePersons(out, employees);
+        });
+    }
+
+    private void expireIdleScans() {
+        long now = System.nanoTime();
+        scans.values().removeIf(session -> {
+            if (now - session.lastAccess < SCAN_IDLE_TIMEOUT_NANOS) {
+                return false;
+            }
+            session.close();
+            return true;
+        });
+    }
+
+    private static byte[] ok(PartitionProtocol.Body body) {
+        return PartitionProtocol.encode(out -> {
+            out.writeByte(PartitionProtocol.OK);
+            body.write(out);
+        });
+    }
+
+    @Override
+    public void close() {
+        scans.values().forEach(ScanSession::close);
+        scans.clear();
+        storage.close();
+    }
+
+    private static class ScanSession {
+        private final long id;
+        private final Stream<Person> stream;
+        private final Iterator<Person> iterator;
+        private final int chunkSize;
+        private volatile long lastAccess = System.nanoTime();
+
+        ScanSession(long id, Stream<Person> stream, int chunkSize) {
+            this.id = id;
+            this.stream = stream;
+            this.iterator = stream.iterator();
+            this.chunkSize = Math.max(1, chunkSize);
+        }
+
+        void close() {
+            stream.close();
+        }
+    }
+}
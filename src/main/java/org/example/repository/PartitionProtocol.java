@@ -0,0 +1,118 @@
+package org.example.repository;
+
+import org.example.exception.EmployeeRepositoryException;
+import org.example.model.Person;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+final class PartitionProtocol {
+
+    static final byte INSERT = 1;
+    static final byte REPLACE = 2;
+    static final byte REMOVE = 3;
+    static final byte CONTAINS = 4;
+    static final byte READ = 5;
+    static final byte SCAN = 6;
+    static final byte PERSON_IDS = 7;
+    static final byte SIZE = 8;
+    static final byte RELOAD = 9;
+    static final byte SCAN_NEXT = 10;
+    static final byte SCAN_CLOSE = 11;
+
+    static final byte OK = 0;
+    static final byte ERROR = 1;
+
+    private PartitionProtocol() {
+    }
+
+    static byte[] encode(Body body) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            body.write(out);
+        } catch (IOException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static <T> T decode(byte[] message, Reader<T> reader) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(message))) {
+            return reader.read(in);
+        } catch (IOException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        }
+    }
+
+    static void writePlan(DataOutput out, QueryPlan plan) throws IOException {
+        out.writeBoolean(plan.isUnsatisfiable());
+        List<QueryPlan.Condition> conditions = plan.getConditions();
+        out.writeInt(conditions.size());
+        for (QueryPlan.Condition condition : conditions) {
+            out.writeUTF(condition.getAttributeName());
+            out.writeUTF(condition.getExpectedValue());
+        }
+    }
+
+    static QueryPlan readPlan(DataInput in) throws IOException {
+        boolean unsatisfiable = in.readBoolean();
+        int count = in.readInt();
+        Map<String, String> searchCriteria = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            searchCriteria.put(in.readUTF(), in.readUTF());
+        }
+        return unsatisfiable ? QueryPlan.MATCH_NONE : QueryPlan.compile(searchCriteria);
+    }
+
+    static void writePersons(DataOutput out, Collection<Person> employees) throws IOException {
+        out.writeInt(employees.size());
+        for (Person employee : employees) {
+            PersonRecordCodec.write(out, employee);
+        }
+    }
+
+    static List<Person> readPersons(DataInput in) throws IOException {
+        int count = in.readInt();
+        List<Person> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(PersonRecordCodec.read(in));
+        }
+        return employees;
+    }
+
+    static void writeIds(DataOutput out, Collection<String> personIds) throws IOException {
+        out.writeInt(personIds.size());
+        for (String personId : personIds) {
+            out.writeUTF(personId);
+        }
+    }
+
+    static Set<String> readIds(DataInput in) throws IOException {
+        int count = in.readInt();
+        Set<String> personIds = new HashSet<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            personIds.add(in.readUTF());
+        }
+        return personIds;
+    }
+
+    interface Body {
+        void write(DataOutput out) throws IOException;
+    }
+
+    interface Reader<T> {
+        T read(DataInput in) throws IOException;
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.repository;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface PartitionTransport extends AutoCloseable {
+
+    CompletableFuture<byte[]> send(String nodeId, byte[] request);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,254 @@
+package org.example.repository;
+
+import org.example.exception.EmployeeRepositoryException;
+import org.example.model.Person;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class PartitionedEmployeeStorage implements EmployeeStorage {
+
+    public static final int DEFAULT_VIRTUAL_NODES = 128;
+    public static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    public static final int DEFAULT_SCAN_CHUNK_SIZE = 512;
+
+    private final PartitionTransport transport;
+    private final ConsistentHashRing ring;
+    private final long timeoutNanos;
+    private final int scanChunkSize;
+    private final Set<String> personIds = ConcurrentHashMap.newKeySet();
+
+    public PartitionedEmployeeStorage(PartitionTransport transport, Collection<String> nodeIds) {
+        this(transport, nodeIds, DEFAULT_VIRTUAL_NODES, DEFAULT_REQUEST_TIMEOUT, DEFAULT_SCAN_CHUNK_SIZE);
+    }
+
+    public PartitionedEmployeeStorage(PartitionTransport transport, Collection<String> nodeIds, int virtualNodes, Duration requestTimeout,
+                                      int scanChunkSize) {
+        this.transport = transport;
+        this.ring = new ConsistentHashRing(nodeIds, virtualNodes);
+        this.timeoutNanos = requestTimeout.toNanos();
+        this.scanChunkSize = scanChunkSize;
+        refreshPersonIds();
+    }
+
+    public String ownerOf(String personId) {
+        return ring.nodeFor(personId);
+    }
+
+    public List<String> getNodeIds() {
+        return ring.nodeIds();
+    }
+
+    @Override
+    public void insert(Person employee) {
+        call(ownerOf(employee.getPersonId()), out -> {
+            out.writeByte(PartitionProtocol.INSERT);
+            PersonRecordCodec.write(out, employee);
+        }, in -> null);
+        personIds.add(employee.getPersonId());
+    }
+
+    @Override
+    public void replace(Person employee) {
+        call(ownerOf(employee.getPersonId()), out -> {
+            out.writeByte(PartitionProtocol.REPLACE);
+            PersonRecordCodec.write(out, employee);
+        }, in -> null);
+    }
+
+    @Override
+    public void remove(String personId) {
+        call(ownerOf(personId), out -> {
+            out.writeByte(PartitionProtocol.REMOVE);
+            out.writeUTF(personId);
+        }, in -> null);
+        personIds.remove(personId);
+    }
+
+    @Override
+    public boolean contains(String personId) {
+        return personId != null && personIds.contains(personId);
+    }
+
+    @Override
+    public Person read(String personId, QueryPlan plan) {
+        if (personId == null || plan.isUnsatisfiable()) {
+            return null;
+        }
+        return call(ownerOf(personId), out -> {
+            out.writeByte(PartitionProtocol.READ);
+            out.writeUTF(personId);
+            PartitionProtocol.writePlan(out, plan);
+        }, in -> in.readBoolean() ? PersonRecordCodec.read(in) : null);
+    }
+
+    @Override
+    public Stream<Person> scan(QueryPlan plan) {
+        if (plan.isUnsatisfiable()) {
+            return Stream.empty();
+        }
+        byte[] open = PartitionProtocol.encode(out -> {
+            out.writeByte(PartitionProtocol.SCAN);
+            PartitionProtocol.writePlan(out, plan);
+            out.writeInt(scanChunkSize);
+        });
+        List<PartitionCursor> cursors = new ArrayList<>();
+        for (String nodeId : ring.nodeIds()) {
+            cursors.add(new PartitionCursor(nodeId, send(nodeId, open, ScanChunk::read)));
+        }
+        return cursors.stream()
+                .flatMap(cursor -> StreamSupport.stream(cursor, false))
+                .onClose(() -> cursors.forEach(PartitionCursor::close));
+    }
+
+    @Override
+    public Set<String> personIds() {
+        return personIds;
+    }
+
+    @Override
+    public int size() {
+        return personIds.size();
+    }
+
+    @Override
+    public void reload() {
+        broadcast(out -> out.writeByte(PartitionProtocol.RELOAD), in -> null);
+        refreshPersonIds();
+    }
+
+    private void refreshPersonIds() {
+        Set<String> current = new HashSet<>();
+        broadcast(out -> out.writeByte(PartitionProtocol.PERSON_IDS), PartitionProtocol::readIds).forEach(current::addAll);
+        personIds.retainAll(current);
+        personIds.addAll(current);
+    }
+
+    @Override
+    public void close() {
+        transport.close();
+    }
+
+    private <T> T call(String nodeId, PartitionProtocol.Body request, PartitionProtocol.Reader<T> reader) {
+        return await(nodeId, send(nodeId, PartitionProtocol.encode(request), reader));
+    }
+
+    private <T> List<T> broadcast(PartitionProtocol.Body request, PartitionProtocol.Reader<T> reader) {
+        byte[] message = PartitionProtocol.encode(request);
+        List<String> nodeIds = ring.nodeIds();
+        List<CompletableFuture<T>> responses = new ArrayList<>(nodeIds.size());
+        for (String nodeId : nodeIds) {
+            responses.add(send(nodeId, message, reader));
+        }
+        List<T> results = new ArrayList<>(nodeIds.size());
+        for (int i = 0; i < nodeIds.size(); i++) {
+            results.add(await(nodeIds.get(i), responses.get(i)));
+        }
+        return results;
+    }
+
+    private <T> CompletableFuture<T> send(String nodeId, byte[] message, PartitionProtocol.Reader<T> reader) {
+        return transport.send(nodeId, message).thenApply(response -> PartitionProtocol.decode(response, in -> {
+            if (in.readByte() == PartitionProtocol.ERROR) {
+                throw new EmployeeRepositoryException(in.readUTF());
+            }
+            return reader.read(in);
+        }));
+    }
+
+    private class PartitionCursor extends Spliterators.AbstractSpliterator<Person> {
+        private final String nodeId;
+        private CompletableFuture<ScanChunk> next;
+        private Iterator<Person> current = Collections.emptyIterator();
+
+        PartitionCursor(String nodeId, CompletableFuture<ScanChunk> first) {
+            super(Long.MAX_VALUE, Spliterator.NONNULL);
+            this.nodeId = nodeId;
+            this.next = first;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Person> action) {
+            while (!current.hasNext()) {
+                if (next == null) {
+                    return false;
+                }
+                ScanChunk chunk = await(nodeId, next);
+                next = chunk.hasMore ? send(nodeId, PartitionProtocol.encode(out -> {
+                    out.writeByte(PartitionProtocol.SCAN_NEXT);
+                    out.writeLong(chunk.scanId);
+                }), ScanChunk::read) : null;
+                current = chunk.employees.iterator();
+            }
+            action.accept(current.next());
+            return true;
+        }
+
+        void close() {
+            CompletableFuture<ScanChunk> pending = next;
+            next = null;
+            if (pending == null) {
+                return;
+            }
+            pending.thenAccept(chunk -> {
+                if (chunk.hasMore) {
+                    transport.send(nodeId, PartitionProtocol.encode(out -> {
+                        out.writeByte(PartitionProtocol.SCAN_CLOSE);
+                        out.writeLong(chunk.scanId);
+                    }));
+                }
+            });
+        }
+    }
+
+    private static class ScanChunk {
+        private final long scanId;
+        private final boolean hasMore;
+        private final List<Person> employees;
+
+        private ScanChunk(long scanId, boolean hasMore, List<Person> employees) {
+            this.scanId = scanId;
+            this.hasMore = hasMore;
+            this.employees = employees;
+        }
+
+        static ScanChunk read(DataInput in) throws IOException {
+            return new ScanChunk(in.readLong(), in.readBoolean(), PartitionProtocol.readPersons(in));
+        }
+    }
+
+    private <T> T await(String nodeId, CompletableFuture<T> response) {
+        try {
+            return response.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof EmployeeRepositoryException) {
+                throw (EmployeeRepositoryException) e.getCause();
+            }
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e.getCause());
+        } catch (TimeoutException e) {
+            response.cancel(true);
+            throw new EmployeeRepositoryException("Partition node " + nodeId + " did not respond in time.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        }
+    }
+}
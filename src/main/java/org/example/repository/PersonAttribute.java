@@ -0,0 +1,59 @@
+package org.example.repository;
+
+import org.example.model.Person;
+
+import java.util.function.Function;
+
+enum PersonAttribute {
+    PERSON_ID(EmployeeRepository.PERSON_ID, Person::getPersonId, Integer.MAX_VALUE),
+    PESEL(EmployeeRepository.PESEL, Person::getPesel, Integer.MAX_VALUE - 1),
+    EMAIL(EmployeeRepository.EMAIL, Person::getEmail, Integer.MAX_VALUE - 2),
+    MOBILE(EmployeeRepository.MOBILE, Person::getMobile, Integer.MAX_VALUE - 3),
+    LAST_NAME(EmployeeRepository.LAST_NAME, Person::getLastName, 10_000),
+    FIRST_NAME(EmployeeRepository.FIRST_NAME, Person::getFirstName, 1_000),
+    EMAIL_DOMAIN(EmployeeRepository.EMAIL_DOMAIN, PersonAttribute::emailDomain, 100),
+    IS_INTERNAL(EmployeeRepository.IS_INTERNAL, employee -> employee.isInternal() ? "true" : "false", 2);
+
+    private final String name;
+    private final Function<Person, String> accessor;
+    private final int estimatedDistinctValues;
+
+    PersonAttribute(String name, Function<Person, String> accessor, int estimatedDistinctValues) {
+        this.name = name;
+        this.accessor = accessor;
+        this.estimatedDistinctValues = estimatedDistinctValues;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getEstimatedDistinctValues() {
+        return estimatedDistinctValues;
+    }
+
+    String valueOf(Person employee) {
+        return accessor.apply(employee);
+    }
+
+    static PersonAttribute forName(String name) {
+        for (PersonAttribute attribute : values()) {
+            if (attribute.name.equals(name)) {
+                return attribute;
+            }
+        }
+        return null;
+    }
+
+    static String emailDomain(Person employee) {
+        return emailDomain(employee.getEmail());
+    }
+
+    static String emailDomain(String email) {
+        if (email == null) {
+            return null;
+        }
+        int at = email.lastIndexOf('@');
+        return at < 0 ? null : email.substring(at + 1);
+    }
+}
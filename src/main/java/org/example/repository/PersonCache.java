@@ -0,0 +1,123 @@
+package org.example.repository;
+
+import org.example.model.Person;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+public class PersonCache {
+
+    private static final int VERSION_STRIPES = 256;
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final LinkedHashMap<String, Entry> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final long[] versions = new long[VERSION_STRIPES];
+
+    public PersonCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, System::nanoTime);
+    }
+
+    PersonCache(int maxEntries, Duration ttl, LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl == null ? Long.MAX_VALUE : ttl.toNanos();
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > PersonCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized Person get(String personId) {
+        Entry entry = entries.get(personId);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (clock.getAsLong() - entry.loadedAt > ttlNanos) {
+            entries.remove(personId);
+            evictions.increment();
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return copy(entry.employee);
+    }
+
+    public synchronized void put(Person employee) {
+        entries.put(employee.getPersonId(), new Entry(copy(employee), clock.getAsLong()));
+    }
+
+    public synchronized long version(String personId) {
+        return versions[stripe(personId)];
+    }
+
+    public synchronized boolean putIfUnchanged(Person employee, long version) {
+        if (versions[stripe(employee.getPersonId())] != version) {
+            return false;
+        }
+        put(employee);
+        return true;
+    }
+
+    public synchronized void invalidate(String personId) {
+        versions[stripe(personId)]++;
+        entries.remove(personId);
+    }
+
+    public synchronized void invalidateAll() {
+        for (int i = 0; i < versions.length; i++) {
+            versions[i]++;
+        }
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private static int stripe(String personId) {
+        int hash = personId.hashCode();
+        return (hash ^ (hash >>> 16)) & (VERSION_STRIPES - 1);
+    }
+
+    private static Person copy(Person employee) {
+        return new Person(employee.getPersonId(), employee.getFirstName(), employee.getLastName(), employee.getMobile(),
+                employee.getEmail(), employee.getPesel(), employee.isInternal());
+    }
+
+    private static class Entry {
+        private final Person employee;
+        private final long loadedAt;
+
+        private Entry(Person employee, long loadedAt) {
+            this.employee = employee;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
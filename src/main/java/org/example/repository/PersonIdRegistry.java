@@ -0,0 +1,42 @@
+package org.example.repository;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class PersonIdRegistry {
+
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+    private static final long MINIMUM_CAPACITY = 1024;
+
+    private final Set<String> personIds;
+    private final AtomicLong registrations = new AtomicLong();
+    private volatile BloomFilter bloomFilter;
+
+    public PersonIdRegistry(Set<String> personIds) {
+        this.personIds = personIds;
+        reload();
+    }
+
+    public boolean contains(String personId) {
+        if (personId == null || !bloomFilter.mightContain(personId)) {
+            return false;
+        }
+        return personIds.contains(personId);
+    }
+
+    public synchronized void register(String personId) {
+        bloomFilter.put(personId);
+        if (registrations.incrementAndGet() > bloomFilter.getCapacity()) {
+            reload();
+        }
+    }
+
+    public synchronized void reload() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(MINIMUM_CAPACITY, personIds.size() * 2L), FALSE_POSITIVE_PROBABILITY);
+        for (String personId : personIds) {
+            rebuilt.put(personId);
+        }
+        registrations.set(personIds.size());
+        bloomFilter = rebuilt;
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.repository;
+
+import org.example.model.Person;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+public interface PersonReader {
+
+    List<Person> read(Path file, QueryPlan plan);
+
+    default List<Person> read(Path file, Map<String, String> searchCriteria) {
+        return read(file, QueryPlan.compile(searchCriteria));
+    }
+
+    default List<Person> readAll(Path file) {
+        return read(file, QueryPlan.MATCH_ALL);
+    }
+}
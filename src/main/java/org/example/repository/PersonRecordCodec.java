@@ -0,0 +1,68 @@
+package org.example.repository;
+
+import org.example.exception.EmployeeRepositoryException;
+import org.example.model.Person;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+public final class PersonRecordCodec {
+
+    private PersonRecordCodec() {
+    }
+
+    public static byte[] encode(Person employee) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            write(out, employee);
+        } catch (IOException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static Person decode(byte[] record) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+            return read(in);
+        } catch (IOException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        }
+    }
+
+    public static void write(DataOutput out, Person employee) throws IOException {
+        writeNullable(out, employee.getPersonId());
+        writeNullable(out, employee.getFirstName());
+        writeNullable(out, employee.getLastName());
+        writeNullable(out, employee.getMobile());
+        writeNullable(out, employee.getEmail());
+        writeNullable(out, employee.getPesel());
+        out.writeBoolean(employee.isInternal());
+    }
+
+    public static Person read(DataInput in) throws IOException {
+        String personId = readNullable(in);
+        String firstName = readNullable(in);
+        String lastName = readNullable(in);
+        String mobile = readNullable(in);
+        String email = readNullable(in);
+        String pesel = readNullable(in);
+        boolean isInternal = in.readBoolean();
+        return new Person(personId, firstName, lastName, mobile, email, pesel, isInternal);
+    }
+
+    private static void writeNullable(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,139 @@
+package org.example.repository;
+
+import org.example.exception.EmployeeRepositoryException;
+import org.example.model.Person;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import static org.example.repository.EmployeeRepository.EMAIL;
+import static org.example.repository.EmployeeRepository.EMPLOYEE;
+import static org.example.repository.EmployeeRepository.FIRST_NAME;
+import static org.example.repository.EmployeeRepository.IS_INTERNAL;
+import static org.example.repository.EmployeeRepository.LAST_NAME;
+import static org.example.repository.EmployeeRepository.MOBILE;
+import static org.example.repository.EmployeeRepository.PERSON_ID;
+import static org.example.repository.EmployeeRepository.PESEL;
+
+public class PersonXmlWriter {
+
+    private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>";
+    private static final OpenOption[] OVERWRITE = {
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE
+    };
+
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(512));
+
+    public void write(Person employee, Path file) {
+        write(employee, file, OVERWRITE);
+    }
+
+    public void write(Person employee, Path file, OpenOption... options) {
+        ByteBuffer content = StandardCharsets.UTF_8.encode(serialize(employee));
+        try (FileChannel channel = FileChannel.open(file, options)) {
+            while (content.hasRemaining()) {
+                channel.write(content);
+            }
+        } catch (IOException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        }
+    }
+
+    public void writeAtomically(Person employee, Path file) {
+        Path temporary = null;
+        try {
+            temporary = Files.createTempFile(file.toAbsolutePath().getParent(), "." + file.getFileName(), ".tmp");
+            write(employee, temporary, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        } finally {
+            deleteQuietly(temporary);
+        }
+    }
+
+    private static void deleteQuietly(Path temporary) {
+        if (temporary == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(temporary);
+        } catch (IOException ignored) {
+        }
+    }
+
+    public String serialize(Person employee) {
+        StringBuilder xml = buffers.get();
+        xml.setLength(0);
+
+        xml.append(XML_DECLARATION).append('<').append(EMPLOYEE);
+        appendAttribute(xml, IS_INTERNAL, String.valueOf(employee.isInternal()));
+        appendAttribute(xml, PERSON_ID, employee.getPersonId());
+        xml.append('>');
+        appendElement(xml, FIRST_NAME, employee.getFirstName());
+        appendElement(xml, LAST_NAME, employee.getLastName());
+        appendElement(xml, MOBILE, employee.getMobile());
+        appendElement(xml, EMAIL, employee.getEmail());
+        appendElement(xml, PESEL, employee.getPesel());
+        xml.append("</").append(EMPLOYEE).append('>');
+
+        return xml.toString();
+    }
+
+    private void appendAttribute(StringBuilder xml, String name, String value) {
+        if (value == null) {
+            return;
+        }
+        xml.append(' ').append(name).append("=\"");
+        escape(xml, value, true);
+        xml.append('"');
+    }
+
+    private void appendElement(StringBuilder xml, String name, String value) {
+        if (value == null || value.isEmpty()) {
+            xml.append('<').append(name).append("/>");
+            return;
+        }
+        xml.append('<').append(name).append('>');
+        escape(xml, value, false);
+        xml.append("</").append(name).append('>');
+    }
+
+    private void escape(StringBuilder xml, String value, boolean attribute) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&':
+                    xml.append("&amp;");
+                    break;
+                case '<':
+                    xml.append("&lt;");
+                    break;
+                case '>':
+                    xml.append("&gt;");
+                    break;
+                case '"':
+                    xml.append(attribute ? "&quot;" : "\"");
+                    break;
+                case '\r':
+                    xml.append("&#13;");
+                    break;
+                case '\n':
+                    xml.append(attribute ? "&#10;" : "\n");
+                    break;
+                case '\t':
+                    xml.append(attribute ? "&#9;" : "\t");
+                    break;
+                default:
+                    xml.append(c);
+            }
+        }
+    }
+}
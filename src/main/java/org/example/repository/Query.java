@@ -0,0 +1,301 @@
+package org.example.repository;
+
+import org.example.exception.ValidationException;
+import org.example.model.Person;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public abstract class Query {
+
+    private static final Query ALL = new MatchAll();
+
+    Query() {
+    }
+
+    public static Query all() {
+        return ALL;
+    }
+
+    public static Query eq(String attributeName, String value) {
+        return new Equals(attribute(attributeName), requireValue(value));
+    }
+
+    public static Query prefix(String attributeName, String prefix) {
+        return new Prefix(attribute(attributeName), requireValue(prefix));
+    }
+
+    public static Query range(String attributeName, String from, String to) {
+        if (from == null && to == null) {
+            throw new ValidationException("Range for " + attributeName + " needs at least one bound");
+        }
+        if (from != null && to != null && AttributeIndex.normalize(from).compareTo(AttributeIndex.normalize(to)) > 0) {
+            throw new ValidationException("Range for " + attributeName + " has its lower bound above its upper bound");
+        }
+        return new Range(attribute(attributeName), from, to);
+    }
+
+    public static Query emailDomain(String domain) {
+        return new Equals(PersonAttribute.EMAIL_DOMAIN, requireValue(domain));
+    }
+
+    public static Query and(Query... queries) {
+        return new And(operands(queries));
+    }
+
+    public static Query or(Query... queries) {
+        return new Or(operands(queries));
+    }
+
+    public static Query not(Query query) {
+        if (query == null) {
+            throw new ValidationException("Query cannot be null");
+        }
+        return new Not(query);
+    }
+
+    public abstract boolean matches(Person employee);
+
+    abstract Set<String> candidateIds(IndexLookup indexes);
+
+    interface IndexLookup {
+
+        Set<String> equalTo(String attributeName, String value);
+
+        Set<String> prefix(String attributeName, String prefix);
+
+        Set<String> range(String attributeName, String from, String to);
+    }
+
+    private static PersonAttribute attribute(String attributeName) {
+        PersonAttribute attribute = attributeName == null ? null : PersonAttribute.forName(attributeName);
+        if (attribute == null) {
+            throw new ValidationException("Invalid search criteria key: " + attributeName);
+        }
+        return attribute;
+    }
+
+    private static String requireValue(String value) {
+        if (value == null) {
+            throw new ValidationException("Search value cannot be null");
+        }
+        return value;
+    }
+
+    private static List<Query> operands(Query[] queries) {
+        if (queries == null || queries.length == 0 || Arrays.asList(queries).contains(null)) {
+            throw new ValidationException("Query operands cannot be null or empty");
+        }
+        return List.of(queries);
+    }
+
+    private static String normalize(String value) {
+        return AttributeIndex.normalize(value);
+    }
+
+    private static final class MatchAll extends Query {
+
+        @Override
+        public boolean matches(Person employee) {
+            return true;
+        }
+
+        @Override
+        Set<String> candidateIds(IndexLookup indexes) {
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            return "all()";
+        }
+    }
+
+    private static final class Equals extends Query {
+        private final PersonAttribute attribute;
+        private final String value;
+
+        private Equals(PersonAttribute attribute, String value) {
+            this.attribute = attribute;
+            this.value = value;
+        }
+
+        @Override
+        public boolean matches(Person employee) {
+            String actual = attribute.valueOf(employee);
+            return actual != null && actual.equalsIgnoreCase(value);
+        }
+
+        @Override
+        Set<String> candidateIds(IndexLookup indexes) {
+            return indexes.equalTo(attribute.getName(), value);
+        }
+
+        @Override
+        public String toString() {
+            return attribute.getName() + " = '" + value + "'";
+        }
+    }
+
+    private static final class Prefix extends Query {
+        private final PersonAttribute attribute;
+        private final String prefix;
+        private final String normalizedPrefix;
+
+        private Prefix(PersonAttribute attribute, String prefix) {
+            this.attribute = attribute;
+            this.prefix = prefix;
+            this.normalizedPrefix = normalize(prefix);
+        }
+
+        @Override
+        public boolean matches(Person employee) {
+            String actual = attribute.valueOf(employee);
+            return actual != null && normalize(actual).startsWith(normalizedPrefix);
+        }
+
+        @Override
+        Set<String> candidateIds(IndexLookup indexes) {
+            return indexes.prefix(attribute.getName(), prefix);
+        }
+
+        @Override
+        public String toString() {
+            return attribute.getName() + " starts with '" + prefix + "'";
+        }
+    }
+
+    private static final class Range extends Query {
+        private final PersonAttribute attribute;
+        private final String from;
+        private final String to;
+        private final String normalizedFrom;
+        private final String normalizedTo;
+
+        private Range(PersonAttribute attribute, String from, String to) {
+            this.attribute = attribute;
+            this.from = from;
+            this.to = to;
+            this.normalizedFrom = from == null ? null : normalize(from);
+            this.normalizedTo = to == null ? null : normalize(to);
+        }
+
+        @Override
+        public boolean matches(Person employee) {
+            String actual = attribute.valueOf(employee);
+            if (actual == null) {
+                return false;
+            }
+            String normalized = normalize(actual);
+            return (normalizedFrom == null || normalized.compareTo(normalizedFrom) >= 0)
+                    && (normalizedTo == null || normalized.compareTo(normalizedTo) <= 0);
+        }
+
+        @Override
+        Set<String> candidateIds(IndexLookup indexes) {
+            return indexes.range(attribute.getName(), from, to);
+        }
+
+        @Override
+        public String toString() {
+            return attribute.getName() + " between '" + from + "' and '" + to + "'";
+        }
+    }
+
+    private static final class And extends Query {
+        private final List<Query> operands;
+
+        private And(List<Query> operands) {
+            this.operands = operands;
+        }
+
+        @Override
+        public boolean matches(Person employee) {
+            for (Query operand : operands) {
+                if (!operand.matches(employee)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        Set<String> candidateIds(IndexLookup indexes) {
+            Set<String> smallest = null;
+            for (Query operand : operands) {
+                Set<String> candidates = operand.candidateIds(indexes);
+                if (candidates != null && (smallest == null || candidates.size() < smallest.size())) {
+                    smallest = candidates;
+                }
+            }
+            return smallest;
+        }
+
+        @Override
+        public String toString() {
+            return operands.stream().map(Query::toString).collect(Collectors.joining(" and ", "(", ")"));
+        }
+    }
+
+    private static final class Or extends Query {
+        private final List<Query> operands;
+
+        private Or(List<Query> operands) {
+            this.operands = operands;
+        }
+
+        @Override
+        public boolean matches(Person employee) {
+            for (Query operand : operands) {
+                if (operand.matches(employee)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        Set<String> candidateIds(IndexLookup indexes) {
+            Set<String> union = new HashSet<>();
+            for (Query operand : operands) {
+                Set<String> candidates = operand.candidateIds(indexes);
+                if (candidates == null) {
+                    return null;
+                }
+                union.addAll(candidates);
+            }
+            return union;
+        }
+
+        @Override
+        public String toString() {
+            return operands.stream().map(Query::toString).collect(Collectors.joining(" or ", "(", ")"));
+        }
+    }
+
+    private static final class Not extends Query {
+        private final Query operand;
+
+        private Not(Query operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        public boolean matches(Person employee) {
+            return !operand.matches(employee);
+        }
+
+        @Override
+        Set<String> candidateIds(IndexLookup indexes) {
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            return "not " + operand;
+        }
+    }
+}
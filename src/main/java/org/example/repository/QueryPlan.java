@@ -0,0 +1,141 @@
+package org.example.repository;
+
+import org.example.model.Person;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+public final class QueryPlan {
+
+    public static final QueryPlan MATCH_ALL = new QueryPlan(new Condition[0], false);
+
+    static final QueryPlan MATCH_NONE = new QueryPlan(new Condition[0], true);
+    private static final ToIntFunction<String> NO_STATISTICS = attributeName -> 0;
+
+    private final Condition[] conditions;
+    private final boolean unsatisfiable;
+
+    private QueryPlan(Condition[] conditions, boolean unsatisfiable) {
+        this.conditions = conditions;
+        this.unsatisfiable = unsatisfiable;
+    }
+
+    public static QueryPlan compile(Map<String, String> searchCriteria) {
+        return compile(searchCriteria, NO_STATISTICS);
+    }
+
+    public static QueryPlan compile(Map<String, String> searchCriteria, ToIntFunction<String> distinctValues) {
+        if (searchCriteria.isEmpty()) {
+            return MATCH_ALL;
+        }
+
+        List<Condition> conditions = new ArrayList<>(searchCriteria.size());
+        for (Map.Entry<String, String> entry : searchCriteria.entrySet()) {
+            PersonAttribute attribute = PersonAttribute.forName(entry.getKey());
+            if (attribute == null || entry.getValue() == null) {
+                return MATCH_NONE;
+            }
+            if (attribute == PersonAttribute.IS_INTERNAL && !isBoolean(entry.getValue())) {
+                return MATCH_NONE;
+            }
+            int statistics = distinctValues.applyAsInt(attribute.getName());
+            int estimate = statistics > 0 ? statistics : attribute.getEstimatedDistinctValues();
+            conditions.add(new Condition(attribute, entry.getValue(), estimate));
+        }
+        conditions.sort(Comparator.comparingInt((Condition condition) -> condition.estimatedDistinctValues).reversed());
+        return new QueryPlan(conditions.toArray(new Condition[0]), false);
+    }
+
+    public boolean matches(Person employee) {
+        if (unsatisfiable) {
+            return false;
+        }
+        for (Condition condition : conditions) {
+            if (!condition.matches(employee)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean mayMatch(String attributeName, String value) {
+        if (unsatisfiable) {
+            return false;
+        }
+        for (Condition condition : conditions) {
+            if (condition.getAttributeName().equals(attributeName)) {
+                return condition.matchesValue(value);
+            }
+        }
+        return true;
+    }
+
+    public boolean isMatchAll() {
+        return !unsatisfiable && conditions.length == 0;
+    }
+
+    public boolean isUnsatisfiable() {
+        return unsatisfiable;
+    }
+
+    public List<Condition> getConditions() {
+        return Collections.unmodifiableList(List.of(conditions));
+    }
+
+    private static boolean isBoolean(String value) {
+        return "true".equalsIgnoreCase(value) || "false".equalsIgnoreCase(value);
+    }
+
+    public static final class Condition {
+        private final PersonAttribute attribute;
+        private final String expected;
+        private final boolean asciiExpected;
+        private final int estimatedDistinctValues;
+
+        private Condition(PersonAttribute attribute, String expected, int estimatedDistinctValues) {
+            this.attribute = attribute;
+            this.expected = AttributeIndex.normalize(expected);
+            this.asciiExpected = this.expected.chars().allMatch(c -> c < 0x80);
+            this.estimatedDistinctValues = estimatedDistinctValues;
+        }
+
+        public String getAttributeName() {
+            return attribute.getName();
+        }
+
+        public String getExpectedValue() {
+            return expected;
+        }
+
+        public boolean matches(Person employee) {
+            return matchesValue(attribute.valueOf(employee));
+        }
+
+        public boolean matchesValue(String value) {
+            if (value == null) {
+                return false;
+            }
+            if (!asciiExpected) {
+                return AttributeIndex.normalize(value).equals(expected);
+            }
+            int length = expected.length();
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c >= 0x80) {
+                    return AttributeIndex.normalize(value).equals(expected);
+                }
+                if (c >= 'A' && c <= 'Z') {
+                    c += 'a' - 'A';
+                }
+                if (i >= length || c != expected.charAt(i)) {
+                    return false;
+                }
+            }
+            return value.length() == length;
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package org.example.repository;
+
+import org.example.metrics.Counter;
+import org.example.metrics.Histogram;
+import org.example.metrics.MetricsRegistry;
+import org.example.model.Person;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class ReadReplica implements AutoCloseable {
+
+    private static final int BATCH_SIZE = 1024;
+    private static final long POLL_MILLIS = 100;
+    private static final long MIN_RESYNC_BACKOFF_MILLIS = 50;
+    private static final long MAX_RESYNC_BACKOFF_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    private final EmployeeRepository primary;
+    private final ChangeLog changeLog;
+    private final Histogram lagMillis;
+    private final Counter primaryFallbacks;
+    private final Counter resyncs;
+    private final Counter applyFailures;
+    private final Object progress = new Object();
+    private volatile State state = new State();
+    private volatile long appliedSequence;
+    private volatile boolean running;
+    private Thread follower;
+
+    ReadReplica(EmployeeRepository primary, MetricsRegistry metrics) {
+        this.primary = primary;
+        this.changeLog = primary.getChangeLog();
+        this.lagMillis = metrics.histogram("replica.lag.millis");
+        this.primaryFallbacks = metrics.counter("replica.find.primaryFallback");
+        this.resyncs = metrics.counter("replica.resync");
+        this.applyFailures = metrics.counter("replica.apply.failures");
+    }
+
+    synchronized void start() {
+        if (running) {
+            return;
+        }
+        resync();
+        running = true;
+        follower = new Thread(this::follow, "employee-read-replica");
+        follower.setDaemon(true);
+        follower.start();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    public long getLagEntries() {
+        return Math.max(0, changeLog.getLatestSequence() - appliedSequence);
+    }
+
+    public long getLagMillis() {
+        long next = appliedSequence + 1;
+        if (next > changeLog.getLatestSequence()) {
+            return 0;
+        }
+        long timestamp = changeLog.getTimestamp(next);
+        return timestamp < 0 ? Long.MAX_VALUE : Math.max(0, System.currentTimeMillis() - timestamp);
+    }
+
+    public int size() {
+        return state.employees.size();
+    }
+
+    public boolean awaitSequence(long sequence, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (progress) {
+            while (appliedSequence < sequence) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !running) {
+                    return false;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(progress, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    public List<Person> find(Map<String, String> searchCriteria) {
+        State current = state;
+        QueryPlan plan = QueryPlan.compile(searchCriteria, attributeName -> {
+            AttributeIndex index = current.indexes.get(attributeName);
+            return index == null ? 0 : index.distinctValues();
+        });
+        if (plan.isUnsatisfiable()) {
+            return Collections.emptyList();
+        }
+        Set<String> candidateIds = null;
+        for (QueryPlan.Condition condition : plan.getConditions()) {
+            Set<String> ids = current.lookup().equalTo(condition.getAttributeName(), condition.getExpectedValue());
+            if (ids != null && (candidateIds == null || ids.size() < candidateIds.size())) {
+                candidateIds = ids;
+            }
+        }
+        return current.candidates(candidateIds).filter(plan::matches).collect(Collectors.toList());
+    }
+
+    public List<Person> find(Query query) {
+        State current = state;
+        return current.candidates(query.candidateIds(current.lookup())).filter(query::matches).collect(Collectors.toList());
+    }
+
+    public List<Person> find(Map<String, String> searchCriteria, Duration maxStaleness) {
+        if (catchUp(maxStaleness)) {
+            return find(searchCriteria);
+        }
+        primaryFallbacks.increment();
+        return primary.find(searchCriteria);
+    }
+
+    public List<Person> find(Query query, Duration maxStaleness) {
+        if (catchUp(maxStaleness)) {
+            return find(query);
+        }
+        primaryFallbacks.increment();
+        return primary.find(query);
+    }
+
+    private boolean catchUp(Duration maxStaleness) {
+        if (getLagMillis() <= maxStaleness.toMillis()) {
+            return true;
+        }
+        return awaitSequence(changeLog.getLatestSequence(), maxStaleness);
+    }
+
+    private void follow() {
+        long backoffMillis = 0;
+        try {
+            while (running) {
+                try {
+                    if (backoffMillis > 0) {
+                        Thread.sleep(backoffMillis);
+                        resync();
+                        backoffMillis = 0;
+                        continue;
+                    }
+                    followBatch();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (RuntimeException e) {
+                    applyFailures.increment();
+                    backoffMillis = Math.min(MAX_RESYNC_BACKOFF_MILLIS, Math.max(MIN_RESYNC_BACKOFF_MILLIS, backoffMillis * 2));
+                }
+            }
+        } finally {
+            running = false;
+            synchronized (progress) {
+                progress.notifyAll();
+            }
+        }
+    }
+
+    private void followBatch() throws InterruptedException {
+        long next = appliedSequence + 1;
+        if (next < changeLog.getOldestSequence()) {
+            resync();
+            return;
+        }
+        List<ChangeLog.Entry> batch = changeLog.readFrom(next, BATCH_SIZE);
+        if (batch.isEmpty()) {
+            changeLog.awaitSequence(next, POLL_MILLIS, TimeUnit.MILLISECONDS);
+            return;
+        }
+        long now = System.currentTimeMillis();
+        State current = state;
+        for (ChangeLog.Entry entry : batch) {
+            current.apply(entry);
+            lagMillis.record(Math.max(0, now - entry.getTimestamp()));
+        }
+        advance(batch.get(batch.size() - 1).getSequence());
+    }
+
+    private void resync() {
+        long sequence = changeLog.getLatestSequence();
+        State rebuilt = new State();
+        try (Stream<Person> employees = primary.stream(Query.all())) {
+            employees.forEach(rebuilt::put);
+        }
+        state = rebuilt;
+        resyncs.increment();
+        advance(sequence);
+    }
+
+    private void advance(long sequence) {
+        synchronized (progress) {
+            appliedSequence = sequence;
+            progress.notifyAll();
+        }
+    }
+
+    @Override
+    public void close() {
+        Thread thread;
+        synchronized (this) {
+            running = false;
+            thread = follower;
+            follower = null;
+        }
+        primary.replicaClosed(this);
+        synchronized (progress) {
+            progress.notifyAll();
+        }
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static class State {
+        private final Map<String, Person> employees = new ConcurrentHashMap<>();
+        private final Map<String, AttributeIndex> indexes = new LinkedHashMap<>();
+
+        State() {
+            for (String attributeName : EmployeeRepository.INDEXABLE_ATTRIBUTES) {
+                indexes.put(attributeName, new AttributeIndex(attributeName));
+            }
+        }
+
+        void apply(ChangeLog.Entry entry) {
+            if (entry.getType() == EmployeeChangeEvent.Type.DELETED) {
+                employees.remove(entry.getPersonId());
+                indexes.values().forEach(index -> index.remove(entry.getPersonId()));
+            } else {
+                put(entry.getEmployee());
+            }
+        }
+
+        void put(Person employee) {
+            employees.put(employee.getPersonId(), employee);
+            for (AttributeIndex index : indexes.values()) {
+                index.put(employee.getPersonId(), SearchCriteriaMatcher.attributeValue(employee, index.getAttributeName()));
+            }
+        }
+
+        Stream<Person> candidates(Set<String> candidateIds) {
+            if (candidateIds == null) {
+                return employees.values().stream();
+            }
+            return candidateIds.stream().map(employees::get).filter(Objects::nonNull);
+        }
+
+        Query.IndexLookup lookup() {
+            return new Query.IndexLookup() {
+                @Override
+                public Set<String> equalTo(String attributeName, String value) {
+                    if (EmployeeRepository.PERSON_ID.equals(attributeName)) {
+                        return employees.containsKey(value) ? Collections.singleton(value) : Collections.emptySet();
+                    }
+                    AttributeIndex index = indexes.get(attributeName);
+                    return index == null ? null : new HashSet<>(index.lookup(value));
+                }
+
+                @Override
+                public Set<String> prefix(String attributeName, String prefix) {
+                    AttributeIndex index = indexes.get(attributeName);
+                    return index == null ? null : index.lookupPrefix(prefix);
+                }
+
+                @Override
+                public Set<String> range(String attributeName, String from, String to) {
+                    AttributeIndex index = indexes.get(attributeName);
+                    return index == null ? null : index.lookupRange(from, to);
+                }
+            };
+        }
+    }
+}
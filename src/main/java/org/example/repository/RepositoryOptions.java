@@ -0,0 +1,152 @@
+package org.example.repository;
+
+import org.example.metrics.MetricsRegistry;
+import org.example.metrics.NoOpMetricsRegistry;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+public class RepositoryOptions {
+
+    private Set<String> indexedAttributes = Collections.emptySet();
+    private PersonReader personReader = new StaxPersonReader();
+    private int scanParallelism = 1;
+    private int parallelScanThreshold = 256;
+    private boolean orderedResults = true;
+    private int cacheMaxEntries;
+    private Duration cacheTtl;
+    private MetricsRegistry metrics = NoOpMetricsRegistry.INSTANCE;
+    private int lockStripes = 64;
+    private Path journalFile;
+    private Duration journalCommitDelay;
+    private DirectoryLayout directoryLayout = DirectoryLayout.FLAT;
+    private int changeLogCapacity;
+    private Path manifestFile;
+
+    public static RepositoryOptions defaults() {
+        return new RepositoryOptions();
+    }
+
+    public Set<String> getIndexedAttributes() {
+        return indexedAttributes;
+    }
+
+    public RepositoryOptions indexedAttributes(String... attributeNames) {
+        Set<String> attributes = new LinkedHashSet<>();
+        Collections.addAll(attributes, attributeNames);
+        this.indexedAttributes = Collections.unmodifiableSet(attributes);
+        return this;
+    }
+
+    public PersonReader getPersonReader() {
+        return personReader;
+    }
+
+    public RepositoryOptions personReader(PersonReader personReader) {
+        this.personReader = personReader;
+        return this;
+    }
+
+    public int getScanParallelism() {
+        return scanParallelism;
+    }
+
+    public RepositoryOptions scanParallelism(int scanParallelism) {
+        this.scanParallelism = scanParallelism;
+        return this;
+    }
+
+    public int getParallelScanThreshold() {
+        return parallelScanThreshold;
+    }
+
+    public RepositoryOptions parallelScanThreshold(int parallelScanThreshold) {
+        this.parallelScanThreshold = parallelScanThreshold;
+        return this;
+    }
+
+    public boolean isOrderedResults() {
+        return orderedResults;
+    }
+
+    public RepositoryOptions orderedResults(boolean orderedResults) {
+        this.orderedResults = orderedResults;
+        return this;
+    }
+
+    public int getCacheMaxEntries() {
+        return cacheMaxEntries;
+    }
+
+    public Duration getCacheTtl() {
+        return cacheTtl;
+    }
+
+    public RepositoryOptions cache(int maxEntries, Duration ttl) {
+        this.cacheMaxEntries = maxEntries;
+        this.cacheTtl = ttl;
+        return this;
+    }
+
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+
+    public RepositoryOptions metrics(MetricsRegistry metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    public int getLockStripes() {
+        return lockStripes;
+    }
+
+    public RepositoryOptions lockStripes(int lockStripes) {
+        this.lockStripes = lockStripes;
+        return this;
+    }
+
+    public Path getJournalFile() {
+        return journalFile;
+    }
+
+    public Duration getJournalCommitDelay() {
+        return journalCommitDelay;
+    }
+
+    public RepositoryOptions journal(Path journalFile, Duration maxCommitDelay) {
+        this.journalFile = journalFile;
+        this.journalCommitDelay = maxCommitDelay;
+        return this;
+    }
+
+    public DirectoryLayout getDirectoryLayout() {
+        return directoryLayout;
+    }
+
+    public RepositoryOptions directoryLayout(DirectoryLayout directoryLayout) {
+        this.directoryLayout = directoryLayout;
+        return this;
+    }
+
+    public int getChangeLogCapacity() {
+        return changeLogCapacity;
+    }
+
+    public RepositoryOptions changeLog(int capacity) {
+        this.changeLogCapacity = capacity;
+        return this;
+    }
+
+    public Path getManifestFile() {
+        return manifestFile;
+    }
+
+    public RepositoryOptions manifest(Path manifestFile) {
+        this.manifestFile = manifestFile;
+        return this;
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.repository;
+
+import org.example.model.Person;
+
+import java.util.Map;
+
+public final class SearchCriteriaMatcher {
+
+    private SearchCriteriaMatcher() {
+    }
+
+    public static boolean matches(Person employee, Map<String, String> searchCriteria) {
+        return QueryPlan.compile(searchCriteria).matches(employee);
+    }
+
+    public static String attributeValue(Person employee, String attributeName) {
+        PersonAttribute attribute = PersonAttribute.forName(attributeName);
+        return attribute == null ? null : attribute.valueOf(employee);
+    }
+}
@@ -0,0 +1,501 @@
+package org.example.repository;
+
+import org.example.exception.EmployeeRepositoryException;
+import org.example.metrics.Counter;
+import org.example.metrics.MetricsRegistry;
+import org.example.metrics.NoOpMetricsRegistry;
+import org.example.model.Person;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+public class SegmentedEmployeeStorage implements EmployeeStorage {
+
+    public static final long DEFAULT_MAX_SEGMENT_BYTES = 64L * 1024 * 1024;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String COMPACTING_SUFFIX = ".compacting";
+    private static final String COMPACTED_SUFFIX = ".compacted";
+    private static final int HEADER_BYTES = Integer.BYTES + 1 + Integer.BYTES;
+    private static final byte PUT = 1;
+    private static final byte TOMBSTONE = 2;
+    private static final double COMPACTION_GARBAGE_RATIO = 0.5;
+
+    private final Path directory;
+    private final long maxSegmentBytes;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<Long, Segment> segments = new TreeMap<>();
+    private final Map<String, RecordPointer> offsets = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService compactor;
+    private final Counter compactionFailures;
+
+    public SegmentedEmployeeStorage(Path directory) {
+        this(directory, DEFAULT_MAX_SEGMENT_BYTES, null);
+    }
+
+    public SegmentedEmployeeStorage(Path directory, long maxSegmentBytes, Duration compactionInterval) {
+        this(directory, maxSegmentBytes, compactionInterval, NoOpMetricsRegistry.INSTANCE);
+    }
+
+    public SegmentedEmployeeStorage(Path directory, long maxSegmentBytes, Duration compactionInterval, MetricsRegistry metrics) {
+        this.directory = directory;
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.compactionFailures = metrics.counter("segments.compaction.failures");
+        reload();
+        if (compactionInterval != null) {
+            compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "employee-segment-compactor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long intervalMillis = compactionInterval.toMillis();
+            compactor.scheduleWithFixedDelay(this::compactIfWorthwhile, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            compactor = null;
+        }
+    }
+
+    @Override
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            closeSegments();
+            offsets.clear();
+            Files.createDirectories(directory);
+            for (Path leftover : listFiles(COMPACTING_SUFFIX)) {
+                Files.deleteIfExists(leftover);
+            }
+            for (Path compacted : listFiles(COMPACTED_SUFFIX)) {
+                publishCompaction(compacted, segmentId(compacted));
+            }
+            for (Path file : listFiles(SEGMENT_SUFFIX)) {
+                Segment segment = new Segment(segmentId(file), file);
+                segments.put(segment.id, segment);
+                replay(segment);
+            }
+            if (segments.isEmpty()) {
+                openNewSegment(1);
+            }
+        } catch (IOException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void insert(Person employee) {
+        lock.writeLock().lock();
+        try {
+            if (offsets.containsKey(employee.getPersonId())) {
+                throw new EmployeeRepositoryException("Employee with ID " + employee.getPersonId() + " already exists.");
+            }
+            offsets.put(employee.getPersonId(), append(PUT, PersonRecordCodec.encode(employee)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void replace(Person employee) {
+        lock.writeLock().lock();
+        try {
+            RecordPointer previous = offsets.get(employee.getPersonId());
+            if (previous == null) {
+                throw new EmployeeRepositoryException("Employee with ID: " + employee.getPersonId() + " does not exist");
+            }
+            offsets.put(employee.getPersonId(), append(PUT, PersonRecordCodec.encode(employee)));
+            markDead(previous);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(String personId) {
+        lock.writeLock().lock();
+        try {
+            RecordPointer previous = personId == null ? null : offsets.get(personId);
+            if (previous == null) {
+                throw new EmployeeRepositoryException("Employee with ID " + personId + " does not exist.");
+            }
+            RecordPointer tombstone = append(TOMBSTONE, personId.getBytes(StandardCharsets.UTF_8));
+            offsets.remove(personId);
+            markDead(previous);
+            markDead(tombstone);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean contains(String personId) {
+        return personId != null && offsets.containsKey(personId);
+    }
+
+    @Override
+    public Person read(String personId, QueryPlan plan) {
+        lock.readLock().lock();
+        try {
+            RecordPointer pointer = personId == null ? null : offsets.get(personId);
+            if (pointer == null) {
+                return null;
+            }
+            Person employee = PersonRecordCodec.decode(readPayload(pointer));
+            return plan.matches(employee) ? employee : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Stream<Person> scan(QueryPlan plan) {
+        List<String> personIds;
+        lock.readLock().lock();
+        try {
+            personIds = offsets.entrySet().stream()
+                    .sorted(Map.Entry.comparingByValue(RecordPointer.PHYSICAL_ORDER))
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+        return personIds.stream()
+                .map(personId -> read(personId, plan))
+                .filter(employee -> employee != null);
+    }
+
+    @Override
+    public Set<String> personIds() {
+        return offsets.keySet();
+    }
+
+    @Override
+    public int size() {
+        return offsets.size();
+    }
+
+    @Override
+    public void sync() {
+        lock.writeLock().lock();
+        try {
+            segments.lastEntry().getValue().channel.force(false);
+            syncDirectory();
+        } catch (IOException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int segmentCount() {
+        lock.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            if (segments.size() < 2) {
+                rollSegment();
+            }
+            compactSealedSegments();
+        } catch (IOException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void compactIfWorthwhile() {
+        lock.writeLock().lock();
+        try {
+            long total = 0;
+            long dead = 0;
+            for (Segment segment : segments.headMap(segments.lastKey(), false).values()) {
+                total += segment.size;
+                dead += segment.deadBytes;
+            }
+            if (total > 0 && (double) dead / total >= COMPACTION_GARBAGE_RATIO) {
+                compactSealedSegments();
+            }
+        } catch (IOException | RuntimeException e) {
+            compactionFailures.increment();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void compactSealedSegments() throws IOException {
+        List<Segment> sealed = new ArrayList<>(segments.headMap(segments.lastKey(), false).values());
+        if (sealed.isEmpty()) {
+            return;
+        }
+        Segment target = sealed.get(sealed.size() - 1);
+        Path compacting = directory.resolve(SEGMENT_PREFIX + target.id + COMPACTING_SUFFIX);
+        Map<String, RecordPointer> moved = new HashMap<>();
+        long position = 0;
+
+        try (FileChannel out = FileChannel.open(compacting, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            for (Map.Entry<String, RecordPointer> entry : offsets.entrySet()) {
+                RecordPointer pointer = entry.getValue();
+                if (pointer.segmentId > target.id) {
+                    continue;
+                }
+                ByteBuffer record = ByteBuffer.allocate(pointer.length);
+                readFully(segments.get(pointer.segmentId).channel, record, pointer.offset);
+                record.flip();
+                while (record.hasRemaining()) {
+                    out.write(record);
+                }
+                moved.put(entry.getKey(), new RecordPointer(target.id, position, pointer.length));
+                position += pointer.length;
+            }
+            out.force(true);
+        }
+        Path committed = directory.resolve(SEGMENT_PREFIX + target.id + COMPACTED_SUFFIX);
+        Files.move(compacting, committed, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory();
+
+        for (Segment segment : sealed) {
+            segment.channel.close();
+            segments.remove(segment.id);
+        }
+        publishCompaction(committed, target.id);
+
+        Segment compacted = new Segment(target.id, target.path);
+        compacted.size = position;
+        segments.put(compacted.id, compacted);
+        offsets.putAll(moved);
+    }
+
+    private void publishCompaction(Path compacted, long targetId) throws IOException {
+        for (Path file : listFiles(SEGMENT_SUFFIX)) {
+            if (segmentId(file) < targetId) {
+                Files.deleteIfExists(file);
+            }
+        }
+        syncDirectory();
+        Files.move(compacted, directory.resolve(SEGMENT_PREFIX + targetId + SEGMENT_SUFFIX),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory();
+    }
+
+    private void syncDirectory() throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    private RecordPointer append(byte type, byte[] payload) {
+        try {
+            Segment active = segments.lastEntry().getValue();
+            if (active.size >= maxSegmentBytes) {
+                active = rollSegment();
+            }
+            ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+            record.putInt(payload.length).put(type).putInt(checksum(type, payload)).put(payload).flip();
+            long offset = active.size;
+            while (record.hasRemaining()) {
+                active.channel.write(record, offset + record.position());
+            }
+            active.size += HEADER_BYTES + payload.length;
+            return new RecordPointer(active.id, offset, HEADER_BYTES + payload.length);
+        } catch (IOException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        }
+    }
+
+    private Segment rollSegment() throws IOException {
+        segments.lastEntry().getValue().channel.force(false);
+        return openNewSegment(segments.lastKey() + 1);
+    }
+
+    private Segment openNewSegment(long id) throws IOException {
+        Segment segment = new Segment(id, directory.resolve(SEGMENT_PREFIX + id + SEGMENT_SUFFIX));
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private byte[] readPayload(RecordPointer pointer) {
+        try {
+            ByteBuffer record = ByteBuffer.allocate(pointer.length);
+            readFully(segments.get(pointer.segmentId).channel, record, pointer.offset);
+            byte[] payload = new byte[pointer.length - HEADER_BYTES];
+            record.position(HEADER_BYTES);
+            record.get(payload);
+            return payload;
+        } catch (IOException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        }
+    }
+
+    private void replay(Segment segment) throws IOException {
+        FileChannel channel = segment.channel;
+        long fileSize = channel.size();
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+
+        while (position + HEADER_BYTES <= fileSize) {
+            header.clear();
+            readFully(channel, header, position);
+            header.flip();
+            int length = header.getInt();
+            byte type = header.get();
+            int checksum = header.getInt();
+            if (length < 0 || position + HEADER_BYTES + length > fileSize) {
+                break;
+            }
+            ByteBuffer payloadBuffer = ByteBuffer.allocate(length);
+            readFully(channel, payloadBuffer, position + HEADER_BYTES);
+            byte[] payload = payloadBuffer.array();
+            if (checksum(type, payload) != checksum) {
+                break;
+            }
+
+            RecordPointer pointer = new RecordPointer(segment.id, position, HEADER_BYTES + length);
+            RecordPointer previous;
+            if (type == PUT) {
+                previous = offsets.put(PersonRecordCodec.decode(payload).getPersonId(), pointer);
+            } else {
+                previous = offsets.remove(new String(payload, StandardCharsets.UTF_8));
+                segment.deadBytes += pointer.length;
+            }
+            if (previous != null) {
+                markDead(previous);
+            }
+            position += pointer.length;
+        }
+
+        if (position < fileSize) {
+            channel.truncate(position);
+        }
+        segment.size = position;
+    }
+
+    private void markDead(RecordPointer pointer) {
+        Segment segment = segments.get(pointer.segmentId);
+        if (segment != null) {
+            segment.deadBytes += pointer.length;
+        }
+    }
+
+    private static int checksum(byte type, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of segment file");
+            }
+        }
+    }
+
+    private List<Path> listFiles(String suffix) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + suffix)) {
+            stream.forEach(files::add);
+        }
+        files.sort(Comparator.comparingLong(SegmentedEmployeeStorage::segmentId));
+        return files;
+    }
+
+    private static long segmentId(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.indexOf('.')));
+    }
+
+    private void closeSegments() {
+        for (Segment segment : segments.values()) {
+            try {
+                segment.channel.close();
+            } catch (IOException e) {
+                throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+            }
+        }
+        segments.clear();
+    }
+
+    @Override
+    public void close() {
+        if (compactor != null) {
+            compactor.shutdownNow();
+        }
+        lock.writeLock().lock();
+        try {
+            if (!segments.isEmpty()) {
+                segments.lastEntry().getValue().channel.force(false);
+            }
+            closeSegments();
+        } catch (IOException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static class Segment {
+        private final long id;
+        private final Path path;
+        private final FileChannel channel;
+        private long size;
+        private long deadBytes;
+
+        private Segment(long id, Path path) throws IOException {
+            this.id = id;
+            this.path = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+    }
+
+    private static class RecordPointer {
+        private static final Comparator<RecordPointer> PHYSICAL_ORDER =
+                Comparator.<RecordPointer>comparingLong(pointer -> pointer.segmentId).thenComparingLong(pointer -> pointer.offset);
+
+        private final long segmentId;
+        private final long offset;
+        private final int length;
+
+        private RecordPointer(long segmentId, long offset, int length) {
+            this.segmentId = segmentId;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.repository;
+
+import org.example.exception.EmployeeRepositoryException;
+import org.example.model.Person;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.example.repository.EmployeeRepository.EMAIL;
+import static org.example.repository.EmployeeRepository.EMPLOYEE;
+import static org.example.repository.EmployeeRepository.FIRST_NAME;
+import static org.example.repository.EmployeeRepository.IS_INTERNAL;
+import static org.example.repository.EmployeeRepository.LAST_NAME;
+import static org.example.repository.EmployeeRepository.MOBILE;
+import static org.example.repository.EmployeeRepository.PERSON_ID;
+import static org.example.repository.EmployeeRepository.PESEL;
+
+public class StaxPersonReader implements PersonReader {
+
+    private final XMLInputFactory inputFactory;
+
+    public StaxPersonReader() {
+        inputFactory = XMLInputFactory.newInstance();
+        inputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    @Override
+    public List<Person> read(Path file, QueryPlan plan) {
+        List<Person> employees = new ArrayList<>();
+        if (plan.isUnsatisfiable()) {
+            return employees;
+        }
+
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            XMLStreamReader reader = inputFactory.createXMLStreamReader(in);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT && EMPLOYEE.equals(reader.getLocalName())) {
+                        Person employee = readEmployee(reader, plan);
+                        if (employee != null && plan.matches(employee)) {
+                            employees.add(employee);
+                        }
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException | XMLStreamException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        }
+
+        return employees;
+    }
+
+    private Person readEmployee(XMLStreamReader reader, QueryPlan plan) throws XMLStreamException {
+        String personId = reader.getAttributeValue(null, PERSON_ID);
+        boolean isInternal = Boolean.parseBoolean(reader.getAttributeValue(null, IS_INTERNAL));
+        boolean skipped = !plan.mayMatch(PERSON_ID, personId) || !plan.mayMatch(IS_INTERNAL, String.valueOf(isInternal));
+
+        String firstName = null;
+        String lastName = null;
+        String mobile = null;
+        String email = null;
+        String pesel = null;
+        int depth = 1;
+
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+                continue;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+            if (skipped) {
+                depth++;
+                continue;
+            }
+
+            String name = reader.getLocalName();
+            String value;
+            switch (name) {
+                case FIRST_NAME:
+                    value = firstName = reader.getElementText();
+                    break;
+                case LAST_NAME:
+                    value = lastName = reader.getElementText();
+                    break;
+                case MOBILE:
+                    value = mobile = reader.getElementText();
+                    break;
+                case EMAIL:
+                    value = email = reader.getElementText();
+                    break;
+                case PESEL:
+                    value = pesel = reader.getElementText();
+                    break;
+                default:
+                    depth++;
+                    continue;
+            }
+            skipped = !plan.mayMatch(name, value);
+        }
+
+        if (skipped) {
+            return null;
+        }
+        return new Person(personId, firstName, lastName, mobile, email, pesel, isInternal);
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.repository;
+
+import org.example.exception.EmployeeRepositoryException;
+import org.example.model.Person;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public final class StorageMigration {
+
+    private StorageMigration() {
+    }
+
+    public static int migrate(EmployeeStorage source, EmployeeStorage target) {
+        int migrated = 0;
+        try (Stream<Person> employees = source.scan(Collections.emptyMap())) {
+            Iterator<Person> iterator = employees.iterator();
+            while (iterator.hasNext()) {
+                Person employee = iterator.next();
+                if (target.contains(employee.getPersonId())) {
+                    target.replace(employee);
+                } else {
+                    target.insert(employee);
+                }
+                migrated++;
+            }
+        }
+        return migrated;
+    }
+
+    public static int migrateLayout(Path directory, DirectoryLayout layout) {
+        int moved = 0;
+        try {
+            List<Path> files;
+            try (Stream<Path> paths = Files.walk(directory)) {
+                files = paths.filter(Files::isRegularFile).collect(Collectors.toList());
+            }
+            for (Path file : files) {
+                String personId = EmployeeIdIndex.personIdFromFileName(file);
+                if (personId == null) {
+                    continue;
+                }
+                Path target = layout.resolve(directory, personId);
+                if (!target.equals(file)) {
+                    Files.createDirectories(target.getParent());
+                    Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+                    moved++;
+                }
+            }
+            removeEmptyDirectories(directory);
+        } catch (IOException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        }
+        return moved;
+    }
+
+    private static void removeEmptyDirectories(Path directory) throws IOException {
+        List<Path> directories;
+        try (Stream<Path> paths = Files.walk(directory)) {
+            directories = paths.filter(Files::isDirectory)
+                    .filter(path -> !path.equals(directory))
+                    .sorted(Comparator.reverseOrder())
+                    .collect(Collectors.toList());
+        }
+        for (Path path : directories) {
+            try (Stream<Path> entries = Files.list(path)) {
+                if (entries.findAny().isEmpty()) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+}
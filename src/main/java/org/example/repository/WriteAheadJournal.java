@@ -0,0 +1,354 @@
+package org.example.repository;
+
+import org.example.exception.EmployeeRepositoryException;
+import org.example.model.Person;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+
+public class WriteAheadJournal implements AutoCloseable {
+
+    public static final long DEFAULT_CHECKPOINT_BYTES = 1024 * 1024;
+
+    private static final int HEADER_BYTES = Integer.BYTES + 1 + Integer.BYTES;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final int MAX_BATCH_SIZE = 1024;
+    private static final long IDLE_POLL_MILLIS = 50;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final long maxCommitDelayNanos;
+    private final long checkpointBytes;
+    private final Predicate<List<Entry>> applier;
+    private final Runnable checkpoint;
+    private final AtomicLong checkpointFailures = new AtomicLong();
+    private final BlockingQueue<PendingEntry> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private final Object progress = new Object();
+    private long submitted;
+    private long completed;
+    private volatile boolean closed;
+
+    public WriteAheadJournal(Path file, Duration maxCommitDelay, Predicate<List<Entry>> applier) {
+        this(file, maxCommitDelay, DEFAULT_CHECKPOINT_BYTES, applier);
+    }
+
+    public WriteAheadJournal(Path file, Duration maxCommitDelay, long checkpointBytes, Predicate<List<Entry>> applier) {
+        this(file, maxCommitDelay, checkpointBytes, applier, null);
+    }
+
+    public WriteAheadJournal(Path file, Duration maxCommitDelay, long checkpointBytes, Predicate<List<Entry>> applier, Runnable checkpoint) {
+        this.file = file;
+        this.maxCommitDelayNanos = maxCommitDelay == null ? 0 : maxCommitDelay.toNanos();
+        this.checkpointBytes = checkpointBytes;
+        this.applier = applier;
+        this.checkpoint = checkpoint != null ? checkpoint : this::truncate;
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        }
+        this.writer = new Thread(this::writeLoop, "employee-journal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public List<Entry> readAll() {
+        List<Entry> entries = new ArrayList<>();
+        try {
+            long fileSize = channel.size();
+            long position = 0;
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (position + HEADER_BYTES <= fileSize) {
+                header.clear();
+                readFully(header, position);
+                header.flip();
+                int length = header.getInt();
+                byte type = header.get();
+                int checksum = header.getInt();
+                if (length < 0 || position + HEADER_BYTES + length > fileSize) {
+                    break;
+                }
+                ByteBuffer payload = ByteBuffer.allocate(length);
+                readFully(payload, position + HEADER_BYTES);
+                if (checksum(type, payload.array()) != checksum) {
+                    break;
+                }
+                entries.add(decode(type, payload.array()));
+                position += HEADER_BYTES + length;
+            }
+            if (position < fileSize) {
+                channel.truncate(position);
+            }
+        } catch (IOException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        }
+        return entries;
+    }
+
+    public void truncate() {
+        try {
+            channel.truncate(0);
+            channel.force(true);
+        } catch (IOException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        }
+    }
+
+    public long getCheckpointFailures() {
+        return checkpointFailures.get();
+    }
+
+    public long size() {
+        try {
+            return channel.size();
+        } catch (IOException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        }
+    }
+
+    public CompletableFuture<Void> append(Entry entry) {
+        PendingEntry pending = new PendingEntry(entry);
+        synchronized (progress) {
+            if (closed) {
+                throw new EmployeeRepositoryException("Journal " + file + " is closed.");
+            }
+            submitted++;
+            queue.add(pending);
+        }
+        return pending.durable;
+    }
+
+    public void awaitApplied() {
+        synchronized (progress) {
+            long target = submitted;
+            while (completed < target && writer.isAlive()) {
+                try {
+                    progress.wait(IDLE_POLL_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (progress) {
+            closed = true;
+        }
+        try {
+            writer.join();
+            channel.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingEntry> batch = new ArrayList<>();
+        while (true) {
+            batch.clear();
+            try {
+                if (!collectBatch(batch)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+            commit(batch);
+            synchronized (progress) {
+                completed += batch.size();
+                progress.notifyAll();
+            }
+        }
+    }
+
+    private boolean collectBatch(List<PendingEntry> batch) throws InterruptedException {
+        PendingEntry first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        while (first == null) {
+            if (closed && queue.isEmpty()) {
+                return false;
+            }
+            first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        batch.add(first);
+        queue.drainTo(batch, MAX_BATCH_SIZE - batch.size());
+        long deadline = System.nanoTime() + maxCommitDelayNanos;
+        while (batch.size() < MAX_BATCH_SIZE && maxCommitDelayNanos > 0) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            PendingEntry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+            queue.drainTo(batch, MAX_BATCH_SIZE - batch.size());
+        }
+        return true;
+    }
+
+    private void commit(List<PendingEntry> batch) {
+        List<Entry> entries = new ArrayList<>(batch.size());
+        long start;
+        try {
+            start = channel.size();
+        } catch (IOException e) {
+            fail(batch, e);
+            return;
+        }
+        try {
+            ByteBuffer records = encode(batch, entries);
+            long position = start;
+            while (records.hasRemaining()) {
+                position += channel.write(records, position);
+            }
+            channel.force(false);
+        } catch (IOException | RuntimeException e) {
+            try {
+                channel.truncate(start);
+            } catch (IOException ignored) {
+            }
+            fail(batch, e);
+            return;
+        }
+
+        for (PendingEntry pending : batch) {
+            pending.durable.complete(null);
+        }
+        if (applier.test(entries) && size() > checkpointBytes) {
+            try {
+                checkpoint.run();
+            } catch (RuntimeException e) {
+                checkpointFailures.incrementAndGet();
+            }
+        }
+    }
+
+    private static void fail(List<PendingEntry> batch, Exception cause) {
+        EmployeeRepositoryException exception = new EmployeeRepositoryException("An error occurred while processing repository operations", cause);
+        for (PendingEntry pending : batch) {
+            pending.durable.completeExceptionally(exception);
+        }
+    }
+
+    private static ByteBuffer encode(List<PendingEntry> batch, List<Entry> entries) {
+        List<byte[]> payloads = new ArrayList<>(batch.size());
+        int total = 0;
+        for (PendingEntry pending : batch) {
+            Entry entry = pending.entry;
+            byte[] payload = entry.getType() == Entry.Type.PUT
+                    ? PersonRecordCodec.encode(entry.getEmployee())
+                    : entry.getPersonId().getBytes(StandardCharsets.UTF_8);
+            payloads.add(payload);
+            entries.add(entry);
+            total += HEADER_BYTES + payload.length;
+        }
+
+        ByteBuffer records = ByteBuffer.allocate(total);
+        for (int i = 0; i < payloads.size(); i++) {
+            byte type = entries.get(i).getType() == Entry.Type.PUT ? PUT : DELETE;
+            byte[] payload = payloads.get(i);
+            records.putInt(payload.length).put(type).putInt(checksum(type, payload)).put(payload);
+        }
+        return records.flip();
+    }
+
+    private static Entry decode(byte type, byte[] payload) {
+        if (type == PUT) {
+            return Entry.put(PersonRecordCodec.decode(payload));
+        }
+        return Entry.delete(new String(payload, StandardCharsets.UTF_8));
+    }
+
+    private static int checksum(byte type, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of journal " + file);
+            }
+        }
+    }
+
+    private static class PendingEntry {
+        private final Entry entry;
+        private final CompletableFuture<Void> durable = new CompletableFuture<>();
+
+        private PendingEntry(Entry entry) {
+            this.entry = entry;
+        }
+    }
+
+    public static class Entry {
+
+        public enum Type {
+            PUT,
+            DELETE
+        }
+
+        private final Type type;
+        private final String personId;
+        private final Person employee;
+
+        private Entry(Type type, String personId, Person employee) {
+            this.type = type;
+            this.personId = personId;
+            this.employee = employee;
+        }
+
+        public static Entry put(Person employee) {
+            return new Entry(Type.PUT, employee.getPersonId(), employee);
+        }
+
+        public static Entry delete(String personId) {
+            return new Entry(Type.DELETE, personId, null);
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        public String getPersonId() {
+            return personId;
+        }
+
+        public Person getEmployee() {
+            return employee;
+        }
+    }
+}
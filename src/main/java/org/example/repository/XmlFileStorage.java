@@ -0,0 +1,367 @@
+package org.example.repository;
+
+import org.example.exception.EmployeeRepositoryException;
+import org.example.model.Person;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+public class XmlFileStorage implements EmployeeStorage {
+
+    private final String internalDirPath;
+    private final String externalDirPath;
+    private final PersonReader personReader;
+    private final DirectoryLayout layout;
+    private final Path manifestFile;
+    private final List<String> manifestAttributes;
+    private volatile EmployeeManifest manifest;
+    private final PersonXmlWriter personWriter = new PersonXmlWriter();
+    private final EmployeeIdIndex idIndex = new EmployeeIdIndex();
+    private final Map<Path, FileTime> ownWrites = new ConcurrentHashMap<>();
+    private final Set<Path> pendingWrites = ConcurrentHashMap.newKeySet();
+    private final Set<Path> ownDeletes = ConcurrentHashMap.newKeySet();
+    private final Set<Path> unsyncedPaths = ConcurrentHashMap.newKeySet();
+    private volatile boolean trackingUnsynced;
+    private volatile boolean recordingOwnChanges;
+
+    public XmlFileStorage(String internalDirPath, String externalDirPath, PersonReader personReader) {
+        this(internalDirPath, externalDirPath, personReader, DirectoryLayout.FLAT);
+    }
+
+    public XmlFileStorage(String internalDirPath, String externalDirPath, PersonReader personReader, DirectoryLayout layout) {
+        this(internalDirPath, externalDirPath, personReader, layout, null);
+    }
+
+    public XmlFileStorage(String internalDirPath, String externalDirPath, PersonReader personReader, DirectoryLayout layout, Path manifestFile) {
+        this(internalDirPath, externalDirPath, personReader, layout, manifestFile, Collections.emptyList());
+    }
+
+    public XmlFileStorage(String internalDirPath, String externalDirPath, PersonReader personReader, DirectoryLayout layout, Path manifestFile,
+                          Collection<String> manifestAttributes) {
+        this.internalDirPath = internalDirPath;
+        this.externalDirPath = externalDirPath;
+        this.personReader = personReader;
+        this.layout = layout;
+        this.manifestFile = manifestFile;
+        this.manifestAttributes = List.copyOf(manifestAttributes);
+        createDirectories();
+        reload();
+    }
+
+    @Override
+    public void reload() {
+        if (manifestFile == null) {
+            idIndex.rebuild(Paths.get(internalDirPath), Paths.get(externalDirPath));
+            return;
+        }
+        idIndex.replaceAll(saveManifest().locations());
+    }
+
+    public synchronized EmployeeManifest saveManifest() {
+        if (manifestFile == null) {
+            throw new EmployeeRepositoryException("Manifest is not enabled for this storage.");
+        }
+        EmployeeManifest previous = manifest != null ? manifest : EmployeeManifest.load(manifestFile);
+        EmployeeManifest refreshed = EmployeeManifest.refresh(previous, Paths.get(internalDirPath), Paths.get(externalDirPath), personReader,
+                manifestAttributes);
+        refreshed.save(manifestFile);
+        manifest = refreshed;
+        return refreshed;
+    }
+
+    public EmployeeManifest getManifest() {
+        return manifest;
+    }
+
+    public Path getManifestFile() {
+        return manifestFile;
+    }
+
+    @Override
+    public void insert(Person newEmployee) {
+        Path filePath = pathFor(newEmployee.getPersonId(), newEmployee.isInternal());
+
+        if (idIndex.contains(newEmployee.getPersonId())) {
+            throw new EmployeeRepositoryException("Employee with ID " + newEmployee.getPersonId() + " already exists.");
+        }
+
+        createParentDirectories(filePath);
+        beginOwnWrite(filePath);
+        try {
+            personWriter.write(newEmployee, filePath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        } catch (EmployeeRepositoryException e) {
+            if (e.getCause() instanceof FileAlreadyExistsException) {
+                pendingWrites.remove(normalize(filePath));
+                throw new EmployeeRepositoryException("Employee with ID " + newEmployee.getPersonId() + " already exists.");
+            }
+            throw e;
+        } finally {
+            endOwnWrite(filePath);
+        }
+        markUnsynced(filePath);
+        idIndex.put(newEmployee.getPersonId(), newEmployee.isInternal(), filePath);
+    }
+
+    @Override
+    public void replace(Person updatedPerson) {
+        EmployeeIdIndex.Location location = idIndex.get(updatedPerson.getPersonId());
+        if (location == null || !Files.exists(location.getPath())) {
+            idIndex.remove(updatedPerson.getPersonId());
+            throw new EmployeeRepositoryException("Employee with ID: " + updatedPerson.getPersonId() + " does not exist");
+        }
+
+        Path sourcePath = location.getPath();
+        Path destinationPath = pathFor(updatedPerson.getPersonId(), updatedPerson.isInternal());
+        createParentDirectories(destinationPath);
+        beginOwnWrite(destinationPath);
+        try {
+            personWriter.writeAtomically(updatedPerson, destinationPath);
+        } finally {
+            endOwnWrite(destinationPath);
+        }
+        markUnsynced(destinationPath);
+        Path staleCopy = pathFor(updatedPerson.getPersonId(), !updatedPerson.isInternal());
+        try {
+            if (!sourcePath.equals(destinationPath)) {
+                recordOwnDelete(sourcePath);
+                Files.deleteIfExists(sourcePath);
+                markUnsynced(sourcePath.toAbsolutePath().getParent());
+            }
+            if (!staleCopy.equals(sourcePath) && Files.exists(staleCopy)) {
+                recordOwnDelete(staleCopy);
+                Files.deleteIfExists(staleCopy);
+                markUnsynced(staleCopy.toAbsolutePath().getParent());
+            }
+        } catch (IOException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        }
+        idIndex.put(updatedPerson.getPersonId(), updatedPerson.isInternal(), destinationPath);
+    }
+
+    @Override
+    public void remove(String personId) {
+        EmployeeIdIndex.Location location = idIndex.get(personId);
+        if (location == null) {
+            throw new EmployeeRepositoryException("Employee with ID " + personId + " does not exist.");
+        }
+
+        try {
+            recordOwnDelete(location.getPath());
+            boolean deleted = Files.deleteIfExists(location.getPath());
+            idIndex.remove(personId);
+            markUnsynced(location.getPath().toAbsolutePath().getParent());
+            if (!deleted) {
+                ownDeletes.remove(normalize(location.getPath()));
+                throw new EmployeeRepositoryException("Employee with ID " + personId + " does not exist.");
+            }
+        } catch (IOException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        }
+    }
+
+    @Override
+    public boolean contains(String personId) {
+        return idIndex.contains(personId);
+    }
+
+    @Override
+    public Person read(String personId, QueryPlan plan) {
+        EmployeeIdIndex.Location location = idIndex.get(personId);
+        if (location == null || !Files.exists(location.getPath())) {
+            return null;
+        }
+        List<Person> employees = personReader.read(location.getPath(), plan);
+        return employees.isEmpty() ? null : employees.get(0);
+    }
+
+    @Override
+    public Stream<Person> scan(QueryPlan plan) {
+        return idIndex.paths().stream()
+                .filter(Files::isRegularFile)
+                .flatMap(file -> personReader.read(file, plan).stream());
+    }
+
+    @Override
+    public void sync() {
+        trackingUnsynced = true;
+        List<Path> paths = new ArrayList<>(unsyncedPaths);
+        paths.sort(Comparator.comparing(Files::isDirectory));
+        try {
+            for (Path path : paths) {
+                unsyncedPaths.remove(path);
+                if (Files.exists(path)) {
+                    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                        channel.force(true);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            unsyncedPaths.addAll(paths);
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        }
+    }
+
+    private void markUnsynced(Path file) {
+        if (trackingUnsynced) {
+            Path normalized = normalize(file);
+            unsyncedPaths.add(normalized);
+            if (Files.isRegularFile(normalized) || !Files.exists(normalized)) {
+                unsyncedPaths.add(normalized.getParent());
+            }
+        }
+    }
+
+    @Override
+    public Set<String> personIds() {
+        return idIndex.personIds();
+    }
+
+    @Override
+    public int size() {
+        return idIndex.size();
+    }
+
+    @Override
+    public void close() {
+        if (manifestFile != null) {
+            saveManifest();
+        }
+    }
+
+    public String getInternalDirPath() {
+        return internalDirPath;
+    }
+
+    public String getExternalDirPath() {
+        return externalDirPath;
+    }
+
+    public DirectoryLayout getLayout() {
+        return layout;
+    }
+
+    public Path pathFor(String personId, boolean internal) {
+        return layout.resolve(Paths.get(internal ? internalDirPath : externalDirPath), personId);
+    }
+
+    public Person readFile(Path file) {
+        List<Person> employees = personReader.readAll(file);
+        return employees.isEmpty() ? null : employees.get(0);
+    }
+
+    public boolean isInternalFile(Path file) {
+        return normalize(file).startsWith(normalize(Paths.get(internalDirPath)));
+    }
+
+    void track(String personId, Path file) {
+        idIndex.put(personId, isInternalFile(file), file);
+    }
+
+    boolean untrack(String personId, Path file) {
+        EmployeeIdIndex.Location location = idIndex.get(personId);
+        if (location == null || !normalize(location.getPath()).equals(normalize(file))) {
+            return false;
+        }
+        idIndex.remove(personId);
+        return true;
+    }
+
+    void recordOwnChanges(boolean enabled) {
+        recordingOwnChanges = enabled;
+        if (!enabled) {
+            ownWrites.clear();
+            pendingWrites.clear();
+            ownDeletes.clear();
+        }
+    }
+
+    boolean isOwnWrite(Path file) {
+        Path normalized = normalize(file);
+        if (pendingWrites.contains(normalized)) {
+            return true;
+        }
+        FileTime written = ownWrites.get(normalized);
+        if (written == null) {
+            return false;
+        }
+        try {
+            if (written.equals(Files.getLastModifiedTime(normalized))) {
+                return true;
+            }
+        } catch (IOException e) {
+            return false;
+        }
+        ownWrites.remove(normalized, written);
+        return false;
+    }
+
+    boolean isOwnDelete(Path file) {
+        Path normalized = normalize(file);
+        ownWrites.remove(normalized);
+        return ownDeletes.remove(normalized);
+    }
+
+    private void beginOwnWrite(Path file) {
+        if (recordingOwnChanges) {
+            Path normalized = normalize(file);
+            ownDeletes.remove(normalized);
+            pendingWrites.add(normalized);
+        }
+    }
+
+    private void endOwnWrite(Path file) {
+        Path normalized = normalize(file);
+        if (!pendingWrites.contains(normalized)) {
+            return;
+        }
+        try {
+            ownWrites.put(normalized, Files.getLastModifiedTime(normalized));
+        } catch (IOException e) {
+            ownWrites.remove(normalized);
+        } finally {
+            pendingWrites.remove(normalized);
+        }
+    }
+
+    private void recordOwnDelete(Path file) {
+        if (recordingOwnChanges) {
+            ownDeletes.add(normalize(file));
+        }
+    }
+
+    private static Path normalize(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+
+    private static void createParentDirectories(Path file) {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+        } catch (IOException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        }
+    }
+
+    private void createDirectories() {
+        try {
+            Files.createDirectories(Paths.get(internalDirPath));
+            Files.createDirectories(Paths.get(externalDirPath));
+        } catch (IOException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.service;
+
+import org.example.model.Person;
+import org.example.repository.Query;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class AsyncEmployeeService implements AutoCloseable {
+
+    private static final int DEFAULT_MAX_CONCURRENT_OPERATIONS = 64;
+
+    private final EmployeeService employeeService;
+    private final ExecutorService executor;
+    private final Semaphore operationPermits;
+
+    public AsyncEmployeeService(EmployeeService employeeService) {
+        this(employeeService, DEFAULT_MAX_CONCURRENT_OPERATIONS);
+    }
+
+    public AsyncEmployeeService(EmployeeService employeeService, int maxConcurrentOperations) {
+        this(employeeService, RequestExecutors.newPerTaskExecutor(maxConcurrentOperations), maxConcurrentOperations);
+    }
+
+    public AsyncEmployeeService(EmployeeService employeeService, ExecutorService executor, int maxConcurrentOperations) {
+        if (maxConcurrentOperations < 1) {
+            throw new IllegalArgumentException("Maximum number of concurrent operations must be positive.");
+        }
+        this.employeeService = employeeService;
+        this.executor = executor;
+        this.operationPermits = new Semaphore(maxConcurrentOperations);
+    }
+
+    public CompletableFuture<Void> create(Person person) {
+        return submit(() -> {
+            employeeService.create(person);
+            return null;
+        });
+    }
+
+    public CompletableFuture<List<Person>> find(Map<String, String> searchCriteria) {
+        return submit(() -> employeeService.find(searchCriteria));
+    }
+
+    public CompletableFuture<List<Person>> find(Query query) {
+        return submit(() -> employeeService.find(query));
+    }
+
+    public CompletableFuture<Void> update(Person updatedPerson) {
+        return submit(() -> {
+            employeeService.update(updatedPerson);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> delete(String personId) {
+        return submit(() -> {
+            employeeService.delete(personId);
+            return null;
+        });
+    }
+
+    public int getAvailablePermits() {
+        return operationPermits.availablePermits();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> operation) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                operationPermits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+            try {
+                return operation.get();
+            } finally {
+                operationPermits.release();
+            }
+        }, executor);
+    }
+}
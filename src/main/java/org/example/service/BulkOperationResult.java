@@ -0,0 +1,80 @@
+package org.example.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class BulkOperationResult {
+
+    private final List<Item> items;
+
+    public BulkOperationResult(List<Item> items) {
+        this.items = Collections.unmodifiableList(new ArrayList<>(items));
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public int getSuccessCount() {
+        return (int) items.stream().filter(Item::isSuccess).count();
+    }
+
+    public List<Item> getFailures() {
+        return items.stream().filter(item -> !item.isSuccess()).collect(Collectors.toList());
+    }
+
+    public boolean isFullySuccessful() {
+        return items.stream().allMatch(Item::isSuccess);
+    }
+
+    @Override
+    public String toString() {
+        return "BulkOperationResult{" +
+                "succeeded=" + getSuccessCount() +
+                ", failed=" + (items.size() - getSuccessCount()) +
+                '}';
+    }
+
+    public static class Item {
+        private final String personId;
+        private final boolean success;
+        private final String errorMessage;
+
+        private Item(String personId, boolean success, String errorMessage) {
+            this.personId = personId;
+            this.success = success;
+            this.errorMessage = errorMessage;
+        }
+
+        public static Item success(String personId) {
+            return new Item(personId, true, null);
+        }
+
+        public static Item failure(String personId, String errorMessage) {
+            return new Item(personId, false, errorMessage);
+        }
+
+        public String getPersonId() {
+            return personId;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        public String getErrorMessage() {
+            return errorMessage;
+        }
+
+        @Override
+        public String toString() {
+            return "Item{" +
+                    "personId='" + personId + '\'' +
+                    ", success=" + success +
+                    ", errorMessage='" + errorMessage + '\'' +
+                    '}';
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package org.example.service;
 
 import org.example.model.Person;
+import org.example.repository.Page;
+import org.example.repository.PageRequest;
+import org.example.repository.Query;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 public interface EmployeeService{
 
@@ -11,7 +15,23 @@ public interface EmployeeService{
 
     List<Person> find(Map<String, String> searchCriteria);
 
+    Stream<Person> stream(Map<String, String> searchCriteria);
+
+    List<Person> find(Query query);
+
+    Stream<Person> stream(Query query);
+
+    Page find(Map<String, String> searchCriteria, PageRequest pageRequest);
+
+    Page find(Query query, PageRequest pageRequest);
+
     void delete(String personId);
 
     void update(Person updatedPerson);
+
+    BulkOperationResult createAll(List<Person> persons);
+
+    BulkOperationResult updateAll(List<Person> updatedPersons);
+
+    BulkOperationResult deleteAll(List<String> personIds);
 }
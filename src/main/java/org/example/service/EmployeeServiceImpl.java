@@ -1,26 +1,69 @@
 package org.example.service;
 
+import org.example.exception.EmployeeRepositoryException;
 import org.example.exception.ValidationException;
+import org.example.metrics.Counter;
+import org.example.metrics.MetricsRegistry;
+import org.example.metrics.NoOpMetricsRegistry;
+import org.example.metrics.OperationMetrics;
 import org.example.model.Person;
 import org.example.repository.EmployeeRepository;
+import org.example.repository.Page;
+import org.example.repository.PageRequest;
+import org.example.repository.Query;
 import org.example.validation.EmployeeValidator;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 public class EmployeeServiceImpl implements EmployeeService {
 
     private final EmployeeValidator employeeValidator;
     private final EmployeeRepository employeeRepository;
+    private final int bulkParallelism;
+    private final Counter validationFailures;
+    private final OperationMetrics createMetrics;
+    private final OperationMetrics findMetrics;
+    private final OperationMetrics streamMetrics;
+    private final OperationMetrics deleteMetrics;
+    private final OperationMetrics updateMetrics;
 
     public EmployeeServiceImpl(EmployeeValidator employeeValidator, EmployeeRepository employeeRepository) {
+        this(employeeValidator, employeeRepository, Runtime.getRuntime().availableProcessors());
+    }
+
+    public EmployeeServiceImpl(EmployeeValidator employeeValidator, EmployeeRepository employeeRepository, int bulkParallelism) {
+        this(employeeValidator, employeeRepository, bulkParallelism, NoOpMetricsRegistry.INSTANCE);
+    }
+
+    public EmployeeServiceImpl(EmployeeValidator employeeValidator, EmployeeRepository employeeRepository, int bulkParallelism,
+                               MetricsRegistry metrics) {
         this.employeeValidator = employeeValidator;
         this.employeeRepository = employeeRepository;
+        this.bulkParallelism = Math.max(1, bulkParallelism);
+        this.validationFailures = metrics.counter("service.validation.failures");
+        this.createMetrics = new OperationMetrics(metrics, "service.create");
+        this.findMetrics = new OperationMetrics(metrics, "service.find");
+        this.streamMetrics = new OperationMetrics(metrics, "service.stream");
+        this.deleteMetrics = new OperationMetrics(metrics, "service.delete");
+        this.updateMetrics = new OperationMetrics(metrics, "service.update");
     }
 
     @Override
     public void create(Person person) {
-
+        measure(createMetrics, () -> {
             employeeValidator.validateEmployee(person);
             if (!employeeValidator.isPersonIdUnique(person.getPersonId())) {
                 throw new ValidationException("An employee with the specified ID already exists.");
@@ -28,30 +71,236 @@ public class EmployeeServiceImpl implements EmployeeService {
 
             employeeRepository.create(person);
             System.out.println("The employee was created");
+            return null;
+        });
     }
 
     @Override
     public List<Person> find(Map<String, String> searchCriteria) {
-        employeeValidator.validateSearchCriteria(searchCriteria);
-        return employeeRepository.find(searchCriteria);
+        return measure(findMetrics, () -> {
+            employeeValidator.validateSearchCriteria(searchCriteria);
+            return employeeRepository.find(searchCriteria);
+        });
+    }
+
+    @Override
+    public Stream<Person> stream(Map<String, String> searchCriteria) {
+        return measure(streamMetrics, () -> {
+            employeeValidator.validateSearchCriteria(searchCriteria);
+            return employeeRepository.stream(searchCriteria);
+        });
+    }
+
+    @Override
+    public List<Person> find(Query query) {
+        return measure(findMetrics, () -> {
+            employeeValidator.validateQuery(query);
+            return employeeRepository.find(query);
+        });
+    }
+
+    @Override
+    public Stream<Person> stream(Query query) {
+        return measure(streamMetrics, () -> {
+            employeeValidator.validateQuery(query);
+            return employeeRepository.stream(query);
+        });
+    }
+
+    @Override
+    public Page find(Map<String, String> searchCriteria, PageRequest pageRequest) {
+        return measure(findMetrics, () -> {
+            employeeValidator.validateSearchCriteria(searchCriteria);
+            employeeValidator.validatePageRequest(pageRequest);
+            return employeeRepository.find(searchCriteria, pageRequest);
+        });
+    }
+
+    @Override
+    public Page find(Query query, PageRequest pageRequest) {
+        return measure(findMetrics, () -> {
+            employeeValidator.validateQuery(query);
+            employeeValidator.validatePageRequest(pageRequest);
+            return employeeRepository.find(query, pageRequest);
+        });
     }
 
     @Override
     public void delete(String personId) {
-        employeeValidator.validatePersonId(personId);
-        employeeRepository.delete(personId);
+        measure(deleteMetrics, () -> {
+            employeeValidator.validatePersonId(personId);
+            employeeRepository.delete(personId);
+            return null;
+        });
     }
 
     @Override
     public void update(Person updatedPerson) {
-        try {
-            employeeValidator.validateEmployee(updatedPerson);
+        measure(updateMetrics, () -> {
+            try {
+                employeeValidator.validateEmployee(updatedPerson);
 
+                employeeRepository.update(updatedPerson);
+                System.out.println("Employee with ID: " + updatedPerson.getPersonId() + " has been updated");
+                return null;
+            } catch (ValidationException e) {
+                throw new ValidationException("Failed to update employee: " + e.getMessage(), e);
+            }
+        });
+    }
 
-            employeeRepository.update(updatedPerson);
-            System.out.println("Employee with ID: " + updatedPerson.getPersonId() + " has been updated");
+    private <T> T measure(OperationMetrics operation, Supplier<T> action) {
+        long start = operation.start();
+        try {
+            T result = action.get();
+            operation.succeeded(start);
+            return result;
         } catch (ValidationException e) {
-            throw new ValidationException("Failed to update employee: " + e.getMessage(), e);
+            validationFailures.increment();
+            operation.failed(start);
+            throw e;
+        } catch (RuntimeException e) {
+            operation.failed(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public BulkOperationResult createAll(List<Person> persons) {
+        BulkOperationResult.Item[] results = new BulkOperationResult.Item[persons.size()];
+        List<Integer> accepted = validateBatch(persons, results);
+        Set<String> existingIds = employeeRepository.existingIds(personIds(persons, accepted));
+
+        List<Integer> toCreate = new ArrayList<>();
+        for (Integer index : accepted) {
+            String personId = persons.get(index).getPersonId();
+            if (existingIds.contains(personId)) {
+                results[index] = BulkOperationResult.Item.failure(personId, "An employee with the specified ID already exists.");
+            } else {
+                toCreate.add(index);
+            }
+        }
+
+        execute(toCreate, results, index -> persons.get(index).getPersonId(),
+                index -> employeeRepository.create(persons.get(index)));
+        return new BulkOperationResult(Arrays.asList(results));
+    }
+
+    @Override
+    public BulkOperationResult updateAll(List<Person> updatedPersons) {
+        BulkOperationResult.Item[] results = new BulkOperationResult.Item[updatedPersons.size()];
+        List<Integer> accepted = validateBatch(updatedPersons, results);
+        Set<String> existingIds = employeeRepository.existingIds(personIds(updatedPersons, accepted));
+
+        List<Integer> toUpdate = new ArrayList<>();
+        for (Integer index : accepted) {
+            String personId = updatedPersons.get(index).getPersonId();
+            if (existingIds.contains(personId)) {
+                toUpdate.add(index);
+            } else {
+                results[index] = BulkOperationResult.Item.failure(personId, "Employee with ID: " + personId + " does not exist");
+            }
+        }
+
+        execute(toUpdate, results, index -> updatedPersons.get(index).getPersonId(),
+                index -> employeeRepository.update(updatedPersons.get(index)));
+        return new BulkOperationResult(Arrays.asList(results));
+    }
+
+    @Override
+    public BulkOperationResult deleteAll(List<String> personIds) {
+        BulkOperationResult.Item[] results = new BulkOperationResult.Item[personIds.size()];
+        Set<String> batchIds = new HashSet<>();
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < personIds.size(); i++) {
+            String personId = personIds.get(i);
+            try {
+                employeeValidator.validatePersonId(personId);
+            } catch (ValidationException e) {
+                validationFailures.increment();
+                results[i] = BulkOperationResult.Item.failure(personId, e.getMessage());
+                continue;
+            }
+            if (!batchIds.add(personId)) {
+                results[i] = BulkOperationResult.Item.failure(personId, "Duplicate employee ID in batch.");
+                continue;
+            }
+            accepted.add(i);
+        }
+
+        Set<String> existingIds = employeeRepository.existingIds(batchIds);
+        List<Integer> toDelete = new ArrayList<>();
+        for (Integer index : accepted) {
+            String personId = personIds.get(index);
+            if (existingIds.contains(personId)) {
+                toDelete.add(index);
+            } else {
+                results[index] = BulkOperationResult.Item.failure(personId, "Employee with ID " + personId + " does not exist.");
+            }
+        }
+
+        execute(toDelete, results, personIds::get, index -> employeeRepository.delete(personIds.get(index)));
+        return new BulkOperationResult(Arrays.asList(results));
+    }
+
+    private List<Integer> validateBatch(List<Person> persons, BulkOperationResult.Item[] results) {
+        Set<String> batchIds = new HashSet<>();
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < persons.size(); i++) {
+            Person person = persons.get(i);
+            String personId = person == null ? null : person.getPersonId();
+            try {
+                employeeValidator.validateEmployee(person);
+            } catch (ValidationException e) {
+                validationFailures.increment();
+                results[i] = BulkOperationResult.Item.failure(personId, e.getMessage());
+                continue;
+            }
+            if (!batchIds.add(personId)) {
+                results[i] = BulkOperationResult.Item.failure(personId, "Duplicate employee ID in batch.");
+                continue;
+            }
+            accepted.add(i);
+        }
+        return accepted;
+    }
+
+    private List<String> personIds(List<Person> persons, List<Integer> indexes) {
+        List<String> personIds = new ArrayList<>(indexes.size());
+        for (Integer index : indexes) {
+            personIds.add(persons.get(index).getPersonId());
+        }
+        return personIds;
+    }
+
+    private void execute(List<Integer> indexes, BulkOperationResult.Item[] results,
+                         IntFunction<String> personIdOf, IntConsumer operation) {
+        if (indexes.isEmpty()) {
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(bulkParallelism, indexes.size()));
+        try {
+            List<Future<?>> futures = new ArrayList<>(indexes.size());
+            for (Integer index : indexes) {
+                futures.add(executor.submit(() -> {
+                    try {
+                        operation.accept(index);
+                        results[index] = BulkOperationResult.Item.success(personIdOf.apply(index));
+                    } catch (RuntimeException e) {
+                        results[index] = BulkOperationResult.Item.failure(personIdOf.apply(index), e.getMessage());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EmployeeRepositoryException("Bulk operation was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new EmployeeRepositoryException("An error occurred while processing repository operations", e.getCause());
+        } finally {
+            executor.shutdownNow();
         }
     }
 }
@@ -2,14 +2,19 @@ package org.example.validation;
 
 import org.example.exception.ValidationException;
 import org.example.model.Person;
+import org.example.repository.PageRequest;
+import org.example.repository.PersonIdRegistry;
+import org.example.repository.Query;
 
-import java.io.File;
 import java.util.*;
 
 public class EmployeeValidator {
 
-    private final String internalDirPath = "src/main/resources/internal";
-    private final String externalDirPath = "src/main/resources/external";
+    private final PersonIdRegistry personIdRegistry;
+
+    public EmployeeValidator(PersonIdRegistry personIdRegistry) {
+        this.personIdRegistry = Objects.requireNonNull(personIdRegistry);
+    }
 
     public void validateEmployee(Person employee) {
         if (employee == null) {
@@ -31,17 +36,7 @@ public class EmployeeValidator {
     }
 
     public boolean isPersonIdUnique(String personId) {
-        List<String> allFilePaths = getAllFilePaths(internalDirPath);
-        allFilePaths.addAll(getAllFilePaths(externalDirPath));
-
-        for (String filePath : allFilePaths) {
-            String filename = new File(filePath).getName();
-            String idFromFilename = filename.substring(0, filename.lastIndexOf('.'));
-            if (idFromFilename.equals(personId)) {
-                return false;
-            }
-        }
-        return true;
+        return !personIdRegistry.contains(personId);
     }
 
     public void validateSearchCriteria(Map<String, String> searchCriteria) {
@@ -68,18 +63,16 @@ public class EmployeeValidator {
         }
     }
 
-    private List<String> getAllFilePaths(String directoryPath) {
-        List<String> filePaths = new ArrayList<>();
-        File directory = new File(directoryPath);
-        File[] files = directory.listFiles();
-        if (files != null) {
-            for (File file : files) {
-                if (file.isFile()) {
-                    filePaths.add(file.getPath());
-                }
-            }
+    public void validateQuery(Query query) {
+        if (query == null) {
+            throw new ValidationException("Query cannot be null");
+        }
+    }
+
+    public void validatePageRequest(PageRequest pageRequest) {
+        if (pageRequest == null) {
+            throw new ValidationException("Page request cannot be null");
         }
-        return filePaths;
     }
 
     public void validatePersonId(String personId) {
@@ -0,0 +1,108 @@
+package metrics;
+
+import org.example.exception.ValidationException;
+import org.example.metrics.DefaultMetricsRegistry;
+import org.example.metrics.HistogramSnapshot;
+import org.example.metrics.LogLinearHistogram;
+import org.example.metrics.MetricsMBean;
+import org.example.metrics.NoOpMetricsRegistry;
+import org.example.model.Person;
+import org.example.repository.EmployeeRepository;
+import org.example.repository.RepositoryOptions;
+import org.example.service.EmployeeServiceImpl;
+import org.example.validation.EmployeeValidator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doThrow;
+
+public class MetricsRegistryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testThatHistogramPercentilesStayWithinBucketPrecision() {
+        // Given
+        LogLinearHistogram histogram = new LogLinearHistogram();
+
+        // When
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        HistogramSnapshot snapshot = histogram.snapshot();
+
+        // Then
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(1000, snapshot.getMin());
+        assertEquals(1_000_000, snapshot.getMax());
+        assertEquals(500_000, snapshot.getP50(), 500_000 * 0.07);
+        assertEquals(990_000, snapshot.getP99(), 990_000 * 0.07);
+    }
+
+    @Test
+    void testThatNoOpRegistryRecordsNothing() {
+        // Given
+        NoOpMetricsRegistry registry = NoOpMetricsRegistry.INSTANCE;
+
+        // When
+        registry.counter("calls").increment();
+        registry.histogram("latency").record(10);
+
+        // Then
+        assertFalse(registry.isEnabled());
+        assertEquals(0, registry.counter("calls").get());
+        assertTrue(registry.getCounters().isEmpty());
+    }
+
+    @Test
+    void testThatServiceOperationsAreCountedAndExposedOverJmx() throws Exception {
+        // Given
+        DefaultMetricsRegistry registry = new DefaultMetricsRegistry();
+        EmployeeValidator validator = Mockito.mock(EmployeeValidator.class);
+        EmployeeRepository repository = Mockito.mock(EmployeeRepository.class);
+        EmployeeServiceImpl service = new EmployeeServiceImpl(validator, repository, 1, registry);
+        Person invalid = new Person("1", null, "Doe", "123456789", "john@example.com", "123456789", true);
+        doThrow(new ValidationException("Incorrect employee data.")).when(validator).validateEmployee(invalid);
+
+        // When
+        service.delete("1");
+        assertThrows(ValidationException.class, () -> service.update(invalid));
+        ObjectName name = MetricsMBean.register(registry);
+
+        // Then
+        assertEquals(1, registry.counter("service.delete.calls").get());
+        assertEquals(1, registry.counter("service.update.failures").get());
+        assertEquals(1, registry.counter("service.validation.failures").get());
+        assertEquals(1L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "service.delete.nanos.count"));
+        assertThrows(ReflectionException.class,
+                () -> ManagementFactory.getPlatformMBeanServer().invoke(name, "reset", new Object[0], new String[0]));
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+    }
+
+    @Test
+    void testThatFailingChangeListenerIsCounted() {
+        // Given
+        DefaultMetricsRegistry registry = new DefaultMetricsRegistry();
+        EmployeeRepository repository = new EmployeeRepository(directory.resolve("internal").toString(),
+                directory.resolve("external").toString(), RepositoryOptions.defaults().metrics(registry));
+        repository.addChangeListener(event -> {
+            throw new IllegalStateException("listener failed");
+        });
+
+        // When
+        repository.create(new Person("1", "John", "Doe", null, null, null, true));
+        repository.close();
+
+        // Then
+        assertTrue(repository.getIdRegistry().contains("1"));
+        assertEquals(1, registry.counter("repository.listener.failures").get());
+    }
+}
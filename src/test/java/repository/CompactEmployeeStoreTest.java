@@ -0,0 +1,118 @@
+package repository;
+
+import org.example.model.Person;
+import org.example.repository.CompactEmployeeStore;
+import org.example.repository.QueryPlan;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompactEmployeeStoreTest {
+
+    @Test
+    void testThatEmployeesRoundTripThroughCompactStore() {
+        // Given
+        List<Person> employees = List.of(
+                new Person("1", "John", "Doe", "123456789", "john@example.com", "00123456789", true),
+                new Person("ext-2", "Jane", "Smith", "+48 600 100 200", "jane.smith", "92010112345", false),
+                new Person("3", null, "Doe", null, null, null, false),
+                new Person("0004", "Żaneta", "Łódź", "", "a@b@example.com", "123456789012345678901", true)
+        );
+
+        // When
+        CompactEmployeeStore store = CompactEmployeeStore.of(employees.stream());
+
+        // Then
+        assertEquals(4, store.size());
+        for (Person employee : employees) {
+            assertEquals(employee, store.get(employee.getPersonId()));
+        }
+        assertNull(store.get("4"));
+        List<String> domains = new ArrayList<>();
+        store.forEach(view -> domains.add(view.getEmailDomain()));
+        assertEquals(Arrays.asList("example.com", null, null, "example.com"), domains);
+    }
+
+    @Test
+    void testThatFindMatchesQueryPlanSemantics() {
+        // Given
+        List<Person> employees = IntStream.range(0, 5_000)
+                .mapToObj(i -> new Person(String.valueOf(i), "First" + i % 50, "Last" + i % 20,
+                        String.format("%09d", i), "user" + i + "@domain" + i % 7 + ".com", String.valueOf(90000000000L + i), i % 3 == 0))
+                .collect(Collectors.toList());
+        CompactEmployeeStore store = CompactEmployeeStore.of(employees.stream());
+        List<Map<String, String>> queries = List.of(
+                Map.of("firstName", "FIRST7"),
+                Map.of("lastName", "last3", "isInternal", "true"),
+                Map.of("emailDomain", "DOMAIN2.com", "firstName", "First2"),
+                Map.of("email", "User42@domain0.com"),
+                Map.of("mobile", "000000042"),
+                Map.of("mobile", "42"),
+                Map.of("pesel", "90000000099"),
+                Map.of("personId", "4999"),
+                Map.of()
+        );
+
+        for (Map<String, String> query : queries) {
+            // When
+            QueryPlan plan = QueryPlan.compile(query);
+            List<Person> found = store.find(plan);
+
+            // Then
+            List<Person> expected = employees.stream().filter(plan::matches).collect(Collectors.toList());
+            assertEquals(expected, found, query.toString());
+        }
+    }
+
+    @Test
+    void testThatUpdatesAndRemovalsAreVisible() {
+        // Given
+        CompactEmployeeStore store = new CompactEmployeeStore();
+        IntStream.range(0, 3_000).forEach(i -> store.put(new Person(String.valueOf(i), "John", "Doe", null, null, null, false)));
+
+        // When
+        store.put(new Person("7", "Jane", "Doe", "600100200", "jane@example.com", null, true));
+        IntStream.range(0, 2_500).filter(i -> i != 7).forEach(i -> assertTrue(store.remove(String.valueOf(i))));
+
+        // Then
+        assertFalse(store.remove("0"));
+        assertEquals(501, store.size());
+        assertEquals(List.of(new Person("7", "Jane", "Doe", "600100200", "jane@example.com", null, true)),
+                store.find(Map.of("firstName", "jane")));
+        assertTrue(store.contains("2999"));
+        assertFalse(store.contains("42"));
+        assertTrue(store.estimatedBytes() > 0);
+    }
+
+    @Test
+    void testThatRepeatedUpdatesKeepMemoryBounded() {
+        // Given
+        CompactEmployeeStore store = new CompactEmployeeStore();
+        IntStream.range(0, 2_000).forEach(i -> store.put(employeeVersion(i, 0)));
+        long baseline = store.estimatedBytes();
+
+        // When
+        for (int version = 1; version <= 50; version++) {
+            int current = version;
+            IntStream.range(0, 2_000).forEach(i -> store.put(employeeVersion(i, current)));
+        }
+
+        // Then
+        assertEquals(2_000, store.size());
+        assertEquals(employeeVersion(1_234, 50), store.get("1234"));
+        assertEquals(List.of(employeeVersion(99, 50)), store.find(Map.of("email", "user99.v50@host50.example.com")));
+        assertTrue(store.estimatedBytes() < baseline * 3, store.estimatedBytes() + " vs baseline " + baseline);
+    }
+
+    private static Person employeeVersion(int id, int version) {
+        return new Person(String.valueOf(id), "First" + version, "Last" + id + "v" + version, "ext-" + id + "-" + version,
+                "user" + id + ".v" + version + "@host" + version + ".example.com", null, version % 2 == 0);
+    }
+}
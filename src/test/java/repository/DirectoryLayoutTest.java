@@ -0,0 +1,84 @@
+package repository;
+
+import org.example.model.Person;
+import org.example.repository.DirectoryLayout;
+import org.example.repository.EmployeeRepository;
+import org.example.repository.RepositoryOptions;
+import org.example.repository.StorageMigration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DirectoryLayoutTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testThatShardedLayoutIsTransparentToRepositoryCallers() throws Exception {
+        // Given
+        Path internal = directory.resolve("internal");
+        Path external = directory.resolve("external");
+        RepositoryOptions options = RepositoryOptions.defaults().directoryLayout(DirectoryLayout.SHARDED);
+
+        // When
+        try (EmployeeRepository repository = new EmployeeRepository(internal.toString(), external.toString(), options)) {
+            repository.create(new Person("1", "John", "Doe", "123456789", "john@example.com", "123456789", true));
+            repository.create(new Person("2", "Jane", "Smith", "987654321", "jane@example.com", "987654321", false));
+            repository.update(new Person("1", "John", "Kowalski", "123456789", "john@example.com", "123456789", false));
+        }
+
+        // Then
+        Path expected = DirectoryLayout.SHARDED.resolve(external, "1");
+        assertTrue(Files.exists(expected));
+        assertEquals(external, expected.getParent().getParent().getParent());
+        assertFalse(Files.exists(DirectoryLayout.SHARDED.resolve(internal, "1")));
+        try (EmployeeRepository reopened = new EmployeeRepository(internal.toString(), external.toString(), options)) {
+            List<Person> found = reopened.find(Map.of("lastName", "kowalski"));
+            assertEquals(List.of("1"), found.stream().map(Person::getPersonId).collect(Collectors.toList()));
+            reopened.delete("2");
+        }
+        assertFalse(Files.exists(DirectoryLayout.SHARDED.resolve(external, "2")));
+    }
+
+    @Test
+    void testThatMigrationMovesFlatFilesIntoShardsAndBack() throws Exception {
+        // Given
+        Path internal = directory.resolve("internal");
+        Path external = directory.resolve("external");
+        try (EmployeeRepository repository = new EmployeeRepository(internal.toString(), external.toString())) {
+            for (int i = 0; i < 20; i++) {
+                repository.create(new Person(String.valueOf(i), "John", "Doe", null, null, null, i % 2 == 0));
+            }
+        }
+
+        // When
+        int moved = StorageMigration.migrateLayout(internal, DirectoryLayout.SHARDED)
+                + StorageMigration.migrateLayout(external, DirectoryLayout.SHARDED);
+
+        // Then
+        assertEquals(20, moved);
+        assertEquals(0, StorageMigration.migrateLayout(internal, DirectoryLayout.SHARDED));
+        try (Stream<Path> entries = Files.list(internal)) {
+            assertTrue(entries.allMatch(Files::isDirectory));
+        }
+        RepositoryOptions options = RepositoryOptions.defaults().directoryLayout(DirectoryLayout.SHARDED);
+        try (EmployeeRepository repository = new EmployeeRepository(internal.toString(), external.toString(), options)) {
+            assertEquals(10, repository.find(Map.of("isInternal", "true")).size());
+            assertNotNull(repository.find(Map.of("personId", "7")).get(0));
+        }
+
+        assertEquals(10, StorageMigration.migrateLayout(internal, DirectoryLayout.FLAT));
+        try (Stream<Path> entries = Files.list(internal)) {
+            assertTrue(entries.allMatch(Files::isRegularFile));
+        }
+    }
+}
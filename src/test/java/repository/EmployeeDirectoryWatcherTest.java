@@ -0,0 +1,116 @@
+package repository;
+
+import org.example.model.Person;
+import org.example.repository.EmployeeChangeEvent;
+import org.example.repository.EmployeeRepository;
+import org.example.repository.PersonXmlWriter;
+import org.example.repository.RepositoryOptions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmployeeDirectoryWatcherTest {
+
+    @TempDir
+    Path directory;
+
+    private EmployeeRepository repository;
+    private final List<EmployeeChangeEvent> events = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        repository = new EmployeeRepository(directory.resolve("internal").toString(), directory.resolve("external").toString(),
+                RepositoryOptions.defaults().indexedAttributes(EmployeeRepository.LAST_NAME).cache(100, Duration.ofMinutes(1)));
+        repository.addChangeListener(events::add);
+        repository.watchDirectories();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    @Test
+    void externallyDroppedFileIsIndexedAndPublished() {
+        // Given
+        Person employee = new Person("ext-1", "John", "Doe", "123456789", "john@example.com", "12345", true);
+
+        // When
+        new PersonXmlWriter().write(employee, directory.resolve("internal").resolve("ext-1.xml"));
+
+        // Then
+        awaitTrue(() -> repository.find(Map.of(EmployeeRepository.LAST_NAME, "Doe")).size() == 1);
+        assertTrue(repository.getIdRegistry().contains("ext-1"));
+        assertEquals(EmployeeChangeEvent.Type.CREATED, events.get(0).getType());
+        assertTrue(events.get(0).isExternal());
+    }
+
+    @Test
+    void externallyModifiedAndRemovedFilesRefreshIndexAndCache() throws Exception {
+        // Given
+        Person employee = new Person("ext-2", "John", "Doe", "123456789", "john@example.com", "12345", false);
+        repository.create(employee);
+        assertEquals(1, repository.find(Map.of(EmployeeRepository.PERSON_ID, "ext-2")).size());
+        Path file = directory.resolve("external").resolve("ext-2.xml");
+
+        // When
+        new PersonXmlWriter().write(new Person("ext-2", "John", "Smith", "123456789", "john@example.com", "12345", false), file);
+
+        // Then
+        awaitTrue(() -> repository.find(Map.of(EmployeeRepository.LAST_NAME, "Smith")).size() == 1);
+        assertEquals("Smith", repository.find(Map.of(EmployeeRepository.PERSON_ID, "ext-2")).get(0).getLastName());
+        assertTrue(repository.find(Map.of(EmployeeRepository.LAST_NAME, "Doe")).isEmpty());
+
+        // When
+        Files.delete(file);
+
+        // Then
+        awaitTrue(() -> !repository.getStorage().contains("ext-2"));
+        assertTrue(repository.find(Map.of(EmployeeRepository.LAST_NAME, "Smith")).isEmpty());
+        assertEquals(EmployeeChangeEvent.Type.DELETED, events.get(events.size() - 1).getType());
+        assertFalse(events.get(0).isExternal());
+    }
+
+    @Test
+    void ownWritesAreNotRepublishedAsExternalChanges() throws Exception {
+        // Given
+        Person employee = new Person("own-1", "John", "Doe", "123456789", "john@example.com", "12345", true);
+
+        // When
+        repository.create(employee);
+        repository.update(new Person("own-1", "John", "Doe", "123456789", "john@example.com", "12345", false));
+        repository.delete("own-1");
+        Thread.sleep(500);
+
+        // Then
+        assertEquals(3, events.size());
+        assertTrue(events.stream().noneMatch(EmployeeChangeEvent::isExternal));
+        assertFalse(repository.getStorage().contains("own-1"));
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition was not met in time");
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted while waiting");
+            }
+        }
+    }
+}
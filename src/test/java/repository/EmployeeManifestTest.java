@@ -0,0 +1,116 @@
+package repository;
+
+import org.example.model.Person;
+import org.example.repository.EmployeeManifest;
+import org.example.repository.EmployeeRepository;
+import org.example.repository.PersonXmlWriter;
+import org.example.repository.RepositoryOptions;
+import org.example.repository.XmlFileStorage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmployeeManifestTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testThatRestartReparsesOnlyChangedFiles() throws Exception {
+        // Given
+        Path internal = directory.resolve("internal");
+        Path external = directory.resolve("external");
+        Path manifestFile = directory.resolve("employees.manifest");
+        RepositoryOptions options = RepositoryOptions.defaults()
+                .indexedAttributes(EmployeeRepository.LAST_NAME)
+                .manifest(manifestFile);
+        try (EmployeeRepository repository = repository(options)) {
+            for (int i = 0; i < 30; i++) {
+                repository.create(new Person(String.valueOf(i), "John", "Doe" + i, null, null, null, i % 2 == 0));
+            }
+        }
+        backdate(directory);
+        try (EmployeeRepository repository = repository(options)) {
+            assertEquals(30, manifest(repository).getReparsedFiles());
+        }
+
+        // When
+        EmployeeManifest unchanged;
+        try (EmployeeRepository repository = repository(options)) {
+            unchanged = manifest(repository);
+            assertEquals(List.of("7"), lastNames(repository, "doe7"));
+        }
+        new PersonXmlWriter().write(new Person("30", "Jane", "Smith", null, null, null, false), external.resolve("30.xml"));
+        EmployeeManifest changed;
+        try (EmployeeRepository repository = repository(options)) {
+            changed = manifest(repository);
+
+            // Then
+            assertEquals(List.of("30"), lastNames(repository, "smith"));
+            assertEquals(31, repository.getStorage().size());
+        }
+        assertEquals(0, unchanged.getReparsedFiles());
+        assertEquals(0, unchanged.getRescannedDirectories());
+        assertEquals(1, changed.getReparsedFiles());
+        assertEquals(1, changed.getRescannedDirectories());
+        assertEquals(31, EmployeeManifest.load(manifestFile).size());
+        String stored = new String(Files.readAllBytes(manifestFile), StandardCharsets.UTF_8);
+        assertTrue(stored.contains("Doe7"));
+        assertFalse(stored.contains("John"));
+    }
+
+    @Test
+    void testThatCorruptManifestFallsBackToFullScan() throws Exception {
+        // Given
+        Path manifestFile = directory.resolve("employees.manifest");
+        new PersonXmlWriter().write(new Person("1", "John", "Doe", null, null, null, true),
+                Files.createDirectories(directory.resolve("internal")).resolve("1.xml"));
+        Files.write(manifestFile, new byte[]{1, 2, 3});
+
+        // When
+        assertNull(EmployeeManifest.load(manifestFile));
+        try (EmployeeRepository repository = repository(RepositoryOptions.defaults().manifest(manifestFile))) {
+
+            // Then
+            assertTrue(repository.getStorage().contains("1"));
+            assertEquals(0, manifest(repository).getReparsedFiles());
+            assertEquals(1, manifest(repository).size());
+        }
+        assertNotNull(EmployeeManifest.load(manifestFile));
+        assertFalse(new String(Files.readAllBytes(manifestFile), StandardCharsets.UTF_8).contains("Doe"));
+    }
+
+    private EmployeeRepository repository(RepositoryOptions options) {
+        return new EmployeeRepository(directory.resolve("internal").toString(), directory.resolve("external").toString(), options);
+    }
+
+    private static EmployeeManifest manifest(EmployeeRepository repository) {
+        return ((XmlFileStorage) repository.getStorage()).getManifest();
+    }
+
+    private static List<String> lastNames(EmployeeRepository repository, String lastName) {
+        return repository.find(Map.of(EmployeeRepository.LAST_NAME, lastName)).stream()
+                .map(Person::getPersonId)
+                .collect(Collectors.toList());
+    }
+
+    private static void backdate(Path root) throws Exception {
+        FileTime past = FileTime.from(Instant.now().minusSeconds(60));
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                Files.setLastModifiedTime(path, past);
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package repository;
+
+import org.example.exception.EmployeeRepositoryException;
+import org.example.model.Person;
+import org.example.repository.AttributeIndex;
+import org.example.repository.EmployeeRepository;
+import org.example.repository.RepositoryOptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmployeeRepositoryConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testThatConcurrentCreatesOfSameIdSucceedExactlyOnce() throws Exception {
+        // Given
+        try (EmployeeRepository repository = newRepository()) {
+            AtomicInteger created = new AtomicInteger();
+            AtomicInteger rejected = new AtomicInteger();
+
+            // When
+            runConcurrently(thread -> () -> {
+                try {
+                    repository.create(new Person("shared", "John", "Doe" + thread, "123456789", "john@example.com", "12345", thread % 2 == 0));
+                    created.incrementAndGet();
+                } catch (EmployeeRepositoryException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            });
+
+            // Then
+            assertEquals(1, created.get());
+            assertEquals(THREADS - 1, rejected.get());
+            assertEquals(1, countFiles("shared.xml"));
+        }
+    }
+
+    @Test
+    void testThatConcurrentUpdatesLeaveOneConsistentFile() throws Exception {
+        // Given
+        try (EmployeeRepository repository = newRepository()) {
+            repository.create(new Person("shared", "John", "Doe", "123456789", "john@example.com", "12345", true));
+            for (int i = 0; i < THREADS; i++) {
+                repository.create(new Person("own-" + i, "John", "Doe", "123456789", "john@example.com", "12345", true));
+            }
+
+            // When
+            runConcurrently(thread -> () -> {
+                for (int i = 0; i < 50; i++) {
+                    boolean internal = (thread + i) % 2 == 0;
+                    repository.update(new Person("shared", "John", "Name" + thread, "123456789", "john@example.com", "12345", internal));
+                    repository.update(new Person("own-" + thread, "John", "Name" + i, "123456789", "john@example.com", "12345", internal));
+                }
+                return null;
+            });
+
+            // Then
+            assertEquals(1, countFiles("shared.xml"));
+            Person shared = repository.find(Map.of(EmployeeRepository.PERSON_ID, "shared")).get(0);
+            assertEquals(1, repository.find(Map.of(EmployeeRepository.LAST_NAME, shared.getLastName(), EmployeeRepository.PERSON_ID, "shared")).size());
+            for (int i = 0; i < THREADS; i++) {
+                assertEquals(1, countFiles("own-" + i + ".xml"));
+                assertEquals("Name49", repository.find(Map.of(EmployeeRepository.PERSON_ID, "own-" + i)).get(0).getLastName());
+            }
+            assertEquals(0, countFiles(".tmp"));
+        }
+    }
+
+    @Test
+    void testThatConcurrentPutsAndRemovesOnSharedValueKeepIndexComplete() throws Exception {
+        // Given
+        AttributeIndex index = new AttributeIndex(EmployeeRepository.LAST_NAME);
+
+        AtomicInteger lost = new AtomicInteger();
+
+        // When
+        runConcurrently(thread -> () -> {
+            String personId = String.valueOf(thread);
+            String value = "Doe" + thread / 2;
+            for (int i = 0; i < 20_000; i++) {
+                index.put(personId, value);
+                if (!index.lookup(value).contains(personId)) {
+                    lost.incrementAndGet();
+                }
+                index.remove(personId);
+            }
+            index.put(personId, value);
+            return null;
+        });
+
+        // Then
+        assertEquals(0, lost.get());
+        for (int thread = 0; thread < THREADS; thread++) {
+            assertTrue(index.lookup("doe" + thread / 2).contains(String.valueOf(thread)));
+        }
+    }
+
+    private EmployeeRepository newRepository() {
+        return new EmployeeRepository(directory.resolve("internal").toString(), directory.resolve("external").toString(),
+                RepositoryOptions.defaults().indexedAttributes(EmployeeRepository.LAST_NAME).lockStripes(8));
+    }
+
+    private long countFiles(String suffix) throws Exception {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(suffix)).count();
+        }
+    }
+
+    private interface TaskFactory {
+        Callable<Void> create(int thread);
+    }
+
+    private static void runConcurrently(TaskFactory factory) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                Callable<Void> task = factory.create(i);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -1,15 +1,22 @@
 package repository;
 
 import org.example.exception.EmployeeRepositoryException;
+import org.example.metrics.DefaultMetricsRegistry;
 import org.example.model.Person;
 import org.example.repository.EmployeeRepository;
+import org.example.repository.EmployeeSnapshot;
+import org.example.repository.RepositoryOptions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -23,9 +30,9 @@ public class EmployeeRepositoryTest {
 
     @BeforeEach
     void setUp() {
-        underTest = new EmployeeRepository(TEST_INTERNAL_DIR_PATH, TEST_EXTERNAL_DIR_PATH);
         deleteDirectoryContents(TEST_INTERNAL_DIR_PATH);
         deleteDirectoryContents(TEST_EXTERNAL_DIR_PATH);
+        underTest = new EmployeeRepository(TEST_INTERNAL_DIR_PATH, TEST_EXTERNAL_DIR_PATH);
     }
 
     @Test
@@ -189,6 +196,172 @@ public class EmployeeRepositoryTest {
         assertEquals(modifiedEmployee, foundEmployee);
     }
 
+    @Test
+    void testModifyEmployeeMovesFileToExternalDirectory() {
+        // Given
+        Person existingEmployee = new Person("1", "John", "Doe", "123456789", "john@example.com", "123456789", true);
+        underTest.create(existingEmployee);
+
+        // When
+        Person modifiedEmployee = new Person("1", "John", "Doe", "123456789", "john@example.com", "123456789", false);
+        underTest.update(modifiedEmployee);
+
+        // Then
+        assertFalse(new File(TEST_INTERNAL_DIR_PATH + File.separator + "1.xml").exists());
+        assertTrue(new File(TEST_EXTERNAL_DIR_PATH + File.separator + "1.xml").exists());
+        underTest.delete("1");
+        assertFalse(new File(TEST_INTERNAL_DIR_PATH + File.separator + "1.xml").exists());
+        assertFalse(new File(TEST_EXTERNAL_DIR_PATH + File.separator + "1.xml").exists());
+    }
+
+    @Test
+    void testThatRebuildIndexPicksUpExternallyAddedFiles() {
+        // Given
+        EmployeeRepository otherProcess = new EmployeeRepository(TEST_INTERNAL_DIR_PATH, TEST_EXTERNAL_DIR_PATH);
+        otherProcess.create(new Person("7", "John", "Doe", "123456789", "john@example.com", "123456789", false));
+
+        // When
+        underTest.rebuildIndex();
+        underTest.delete("7");
+
+        // Then
+        assertFalse(new File(TEST_EXTERNAL_DIR_PATH + File.separator + "7.xml").exists());
+    }
+
+    @Test
+    void testThatFindUsesAttributeIndexesCaseInsensitively() {
+        // Given
+        EmployeeRepository indexed = new EmployeeRepository(TEST_INTERNAL_DIR_PATH, TEST_EXTERNAL_DIR_PATH,
+                RepositoryOptions.defaults().indexedAttributes("lastName", "pesel"));
+        Person employee1 = new Person("1", "John", "Doe", "123456789", "john@example.com", "90010112345", true);
+        Person employee2 = new Person("2", "Jane", "Smith", "123456789", "jane@example.com", "91010112345", false);
+        indexed.create(employee1);
+        indexed.create(employee2);
+
+        // When
+        Map<String, String> searchCriteria = new HashMap<>();
+        searchCriteria.put("lastName", "SMITH");
+        searchCriteria.put("mobile", "123456789");
+        List<Person> foundEmployees = indexed.find(searchCriteria);
+
+        // Then
+        assertEquals(List.of(employee2), foundEmployees);
+    }
+
+    @Test
+    void testThatAttributeIndexesFollowUpdateAndDelete() {
+        // Given
+        Person employee = new Person("1", "John", "Doe", "123456789", "john@example.com", "90010112345", true);
+        underTest.create(employee);
+        EmployeeRepository indexed = new EmployeeRepository(TEST_INTERNAL_DIR_PATH, TEST_EXTERNAL_DIR_PATH,
+                RepositoryOptions.defaults().indexedAttributes("lastName"));
+
+        // When
+        Person renamed = new Person("1", "John", "Kowalski", "123456789", "john@example.com", "90010112345", false);
+        indexed.update(renamed);
+
+        // Then
+        assertTrue(indexed.find(Map.of("lastName", "Doe")).isEmpty());
+        assertEquals(List.of(renamed), indexed.find(Map.of("lastName", "kowalski")));
+        indexed.delete("1");
+        assertTrue(indexed.find(Map.of("lastName", "Kowalski")).isEmpty());
+    }
+
+    @Test
+    void testThatIndexingUnknownAttributeThrowsException() {
+        assertThrows(EmployeeRepositoryException.class, () -> new EmployeeRepository(TEST_INTERNAL_DIR_PATH,
+                TEST_EXTERNAL_DIR_PATH, RepositoryOptions.defaults().indexedAttributes("salary")));
+    }
+
+    @Test
+    void testThatParallelScanReturnsSameResultsAsSequentialScan() {
+        // Given
+        for (int i = 0; i < 40; i++) {
+            underTest.create(new Person(String.valueOf(i), "John", i % 3 == 0 ? "Smith" : "Doe", "123456789",
+                    "john@example.com", "123456789", i % 2 == 0));
+        }
+        Map<String, String> searchCriteria = Map.of("lastName", "smith");
+
+        // When
+        List<Person> sequential = underTest.find(searchCriteria);
+        List<Person> parallel;
+        try (EmployeeRepository parallelRepository = new EmployeeRepository(TEST_INTERNAL_DIR_PATH, TEST_EXTERNAL_DIR_PATH,
+                RepositoryOptions.defaults().scanParallelism(4).parallelScanThreshold(1))) {
+            parallel = parallelRepository.find(searchCriteria);
+        }
+
+        // Then
+        assertEquals(14, sequential.size());
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    void testThatStreamSupportsEarlyTermination() {
+        // Given
+        for (int i = 0; i < 10; i++) {
+            underTest.create(new Person(String.valueOf(i), "John", "Doe", "123456789", "john@example.com", "123456789", i % 2 == 0));
+        }
+
+        // When
+        List<Person> firstThree;
+        try (Stream<Person> employees = underTest.stream(Map.of("firstName", "john"))) {
+            firstThree = employees.limit(3).collect(Collectors.toList());
+        }
+
+        // Then
+        assertEquals(3, firstThree.size());
+        try (Stream<Person> employees = underTest.stream(Map.of("lastName", "Smith"))) {
+            assertEquals(0, employees.count());
+        }
+    }
+
+    @Test
+    void testThatEmailDomainFindMatchesWithAndWithoutSnapshot() {
+        // Given
+        Person john = new Person("1", "John", "Doe", "123456789", "john@example.com", "123456789", true);
+        Person jane = new Person("2", "Jane", "Doe", "987654321", "jane@corp.com", "987654321", false);
+        underTest.create(john);
+        underTest.create(jane);
+        Path snapshotFile = Paths.get(TEST_EXTERNAL_DIR_PATH).getParent().resolve("employees.snapshot");
+        Map<String, String> searchCriteria = Map.of("emailDomain", "EXAMPLE.com");
+
+        // When
+        List<Person> scanned = underTest.find(searchCriteria);
+        EmployeeSnapshot snapshot = underTest.exportSnapshot(snapshotFile);
+        List<Person> fromSnapshot = underTest.find(searchCriteria);
+
+        // Then
+        assertEquals(List.of(john), scanned);
+        assertEquals(scanned, fromSnapshot);
+        assertEquals(List.of(jane), snapshot.find(Map.of("emailDomain", "corp.com", "isInternal", "false")));
+        underTest.dropSnapshot();
+        assertTrue(snapshotFile.toFile().delete());
+    }
+
+    @Test
+    void testThatSnapshotServesFindAndIsRefreshedAfterWrites() {
+        // Given
+        Person john = new Person("1", "John", "Doe", "123456789", "john@example.com", "123456789", true);
+        Person jane = new Person("2", "Jane", "Doe", "987654321", "jane@example.com", "987654321", false);
+        underTest.create(john);
+        Path snapshotFile = Paths.get(TEST_EXTERNAL_DIR_PATH).getParent().resolve("employees.snapshot");
+
+        // When
+        EmployeeSnapshot snapshot = underTest.exportSnapshot(snapshotFile);
+        underTest.create(jane);
+
+        // Then
+        assertEquals(1, snapshot.size());
+        assertEquals(List.of(john), snapshot.find(Map.of("lastName", "doe")));
+        List<Person> found = underTest.find(Map.of("lastName", "DOE"));
+        assertEquals(2, found.size());
+        assertTrue(found.containsAll(List.of(john, jane)));
+        assertEquals(List.of(john), underTest.find(Map.of("isInternal", "TRUE")));
+        assertEquals(List.of(jane), underTest.find(Map.of("isInternal", "false", "lastName", "doe")));
+        underTest.dropSnapshot();
+        assertTrue(snapshotFile.toFile().delete());
+    }
+
     @Test
     void testModifyNonExistingEmployee() {
         // Given
@@ -198,6 +371,23 @@ public class EmployeeRepositoryTest {
         assertThrows(EmployeeRepositoryException.class, () -> underTest.update(nonExistingEmployee));
     }
 
+    @Test
+    void testThatFindByMissingPersonIdSkipsFullScan() {
+        // Given
+        DefaultMetricsRegistry metrics = new DefaultMetricsRegistry();
+        underTest.close();
+        underTest = new EmployeeRepository(TEST_INTERNAL_DIR_PATH, TEST_EXTERNAL_DIR_PATH, RepositoryOptions.defaults().metrics(metrics));
+        underTest.create(new Person("1", "John", "Doe", "123456789", "john@example.com", "123456789", true));
+
+        // When
+        List<Person> found = underTest.find(Map.of("personId", "404", "lastName", "Doe"));
+
+        // Then
+        assertTrue(found.isEmpty());
+        assertEquals(1, metrics.counter("repository.find.indexed").get());
+        assertEquals(0, metrics.counter("repository.find.fullScan").get());
+    }
+
 
     private void deleteDirectoryContents(String directoryPath) {
         File directory = new File(directoryPath);
@@ -0,0 +1,187 @@
+package repository;
+
+import org.example.exception.EmployeeRepositoryException;
+import org.example.metrics.DefaultMetricsRegistry;
+import org.example.model.Person;
+import org.example.repository.EmployeeRepository;
+import org.example.repository.EmployeeStorage;
+import org.example.repository.JournaledEmployeeStorage;
+import org.example.repository.QueryPlan;
+import org.example.repository.RepositoryOptions;
+import org.example.repository.StaxPersonReader;
+import org.example.repository.WriteAheadJournal;
+import org.example.repository.XmlFileStorage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JournaledEmployeeStorageTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testThatJournaledMutationsAreVisibleAndAppliedToFiles() throws Exception {
+        // Given
+        try (EmployeeRepository repository = newRepository()) {
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+
+            // When
+            for (int i = 0; i < 200; i++) {
+                String personId = String.valueOf(i);
+                executor.submit(() -> repository.create(new Person(personId, "John", "Doe", "123456789", "john@example.com", "12345", true)));
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+            repository.update(new Person("1", "John", "Smith", "123456789", "john@example.com", "12345", false));
+            repository.delete("2");
+
+            // Then
+            assertEquals("Smith", repository.find(Map.of(EmployeeRepository.PERSON_ID, "1")).get(0).getLastName());
+            assertTrue(repository.find(Map.of(EmployeeRepository.PERSON_ID, "2")).isEmpty());
+            assertEquals(199, repository.find(Map.of(EmployeeRepository.FIRST_NAME, "John")).size());
+
+            ((JournaledEmployeeStorage) repository.getStorage()).flush();
+            assertTrue(Files.exists(directory.resolve("external").resolve("1.xml")));
+            assertFalse(Files.exists(directory.resolve("internal").resolve("1.xml")));
+            assertFalse(Files.exists(directory.resolve("internal").resolve("2.xml")));
+            assertTrue(Files.exists(directory.resolve("internal").resolve("199.xml")));
+        }
+    }
+
+    @Test
+    void testThatUnappliedEntriesAreReplayedOnStartup() {
+        // Given
+        Path journalFile = directory.resolve("employees.journal");
+        try (WriteAheadJournal journal = new WriteAheadJournal(journalFile, Duration.ZERO, entries -> false)) {
+            journal.append(WriteAheadJournal.Entry.put(new Person("1", "John", "Doe", "123456789", "john@example.com", "12345", true))).join();
+            journal.append(WriteAheadJournal.Entry.put(new Person("2", "Jane", "Doe", "987654321", "jane@example.com", "54321", false))).join();
+            journal.append(WriteAheadJournal.Entry.put(new Person("1", "John", "Smith", "123456789", "john@example.com", "12345", false))).join();
+            journal.append(WriteAheadJournal.Entry.delete("2")).join();
+        }
+
+        // When
+        try (EmployeeRepository repository = newRepository()) {
+
+            // Then
+            assertTrue(Files.exists(directory.resolve("external").resolve("1.xml")));
+            assertFalse(Files.exists(directory.resolve("internal").resolve("1.xml")));
+            assertFalse(Files.exists(directory.resolve("external").resolve("2.xml")));
+            assertEquals("Smith", repository.find(Map.of(EmployeeRepository.PERSON_ID, "1")).get(0).getLastName());
+            assertEquals(0, ((JournaledEmployeeStorage) repository.getStorage()).getJournal().size());
+        }
+    }
+
+    @Test
+    void testThatFailedApplyIsRetriedAndCheckpointResumes() {
+        // Given
+        DefaultMetricsRegistry metrics = new DefaultMetricsRegistry();
+        FlakyStorage delegate = new FlakyStorage(new XmlFileStorage(directory.resolve("internal").toString(),
+                directory.resolve("external").toString(), new StaxPersonReader()));
+        try (JournaledEmployeeStorage storage = new JournaledEmployeeStorage(delegate, directory.resolve("employees.journal"),
+                Duration.ZERO, 0, metrics)) {
+            delegate.failing = true;
+
+            // When
+            storage.insert(new Person("1", "John", "Doe", null, null, null, true));
+            assertThrows(EmployeeRepositoryException.class, storage::flush);
+
+            // Then
+            assertEquals(1, storage.getUnappliedCount());
+            assertEquals("Doe", storage.read("1", Map.of()).getLastName());
+            assertTrue(storage.getJournal().size() > 0);
+            assertTrue(metrics.getCounters().get("journal.apply.failures").get() > 0);
+
+            delegate.failing = false;
+            storage.insert(new Person("2", "Jane", "Doe", null, null, null, false));
+            storage.flush();
+            assertEquals(0, storage.getUnappliedCount());
+            assertTrue(delegate.contains("1"));
+            assertTrue(delegate.contains("2"));
+            assertEquals(0, storage.getJournal().size());
+        }
+    }
+
+    private static class FlakyStorage implements EmployeeStorage {
+        private final EmployeeStorage delegate;
+        private volatile boolean failing;
+
+        FlakyStorage(EmployeeStorage delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void insert(Person employee) {
+            if (failing) {
+                throw new EmployeeRepositoryException("Disk is full.");
+            }
+            delegate.insert(employee);
+        }
+
+        @Override
+        public void replace(Person employee) {
+            delegate.replace(employee);
+        }
+
+        @Override
+        public void remove(String personId) {
+            delegate.remove(personId);
+        }
+
+        @Override
+        public boolean contains(String personId) {
+            return delegate.contains(personId);
+        }
+
+        @Override
+        public Person read(String personId, QueryPlan plan) {
+            return delegate.read(personId, plan);
+        }
+
+        @Override
+        public Stream<Person> scan(QueryPlan plan) {
+            return delegate.scan(plan);
+        }
+
+        @Override
+        public Set<String> personIds() {
+            return delegate.personIds();
+        }
+
+        @Override
+        public int size() {
+            return delegate.size();
+        }
+
+        @Override
+        public void reload() {
+            delegate.reload();
+        }
+
+        @Override
+        public void sync() {
+            delegate.sync();
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+
+    private EmployeeRepository newRepository() {
+        return new EmployeeRepository(directory.resolve("internal").toString(), directory.resolve("external").toString(),
+                RepositoryOptions.defaults().journal(directory.resolve("employees.journal"), Duration.ofMillis(2)));
+    }
+}
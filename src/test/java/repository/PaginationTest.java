@@ -0,0 +1,102 @@
+package repository;
+
+import org.example.exception.ValidationException;
+import org.example.model.Person;
+import org.example.repository.EmployeeRepository;
+import org.example.repository.Page;
+import org.example.repository.PageRequest;
+import org.example.repository.Query;
+import org.example.repository.RepositoryOptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PaginationTest {
+
+    private static final String[] LAST_NAMES = {"Nowak", "Kowalski", "Wisniewski", "Wojcik", "Kaminski"};
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testThatPagesFollowSortOrderWithoutIndex() {
+        // Given
+        try (EmployeeRepository repository = newRepository(RepositoryOptions.defaults())) {
+            List<Person> employees = populate(repository);
+            List<String> expected = employees.stream()
+                    .sorted(Comparator.comparing((Person employee) -> employee.getLastName().toLowerCase()).reversed()
+                            .thenComparing(Person::getPersonId))
+                    .map(Person::getPersonId)
+                    .collect(Collectors.toList());
+
+            // When
+            List<String> paged = readAllPages(repository, Map.of(), PageRequest.of(7).sortBy(EmployeeRepository.LAST_NAME, false));
+
+            // Then
+            assertEquals(expected, paged);
+        }
+    }
+
+    @Test
+    void testThatIndexedSortWalksIndexAndAppliesFilter() {
+        // Given
+        try (EmployeeRepository repository = newRepository(RepositoryOptions.defaults().indexedAttributes(EmployeeRepository.LAST_NAME))) {
+            List<Person> employees = populate(repository);
+            List<String> expected = employees.stream()
+                    .filter(Person::isInternal)
+                    .sorted(Comparator.comparing((Person employee) -> employee.getLastName().toLowerCase())
+                            .thenComparing(Person::getPersonId))
+                    .map(Person::getPersonId)
+                    .collect(Collectors.toList());
+
+            // When
+            List<String> paged = readAllPages(repository, Map.of(EmployeeRepository.IS_INTERNAL, "true"),
+                    PageRequest.of(4).sortBy(EmployeeRepository.LAST_NAME, true));
+            Page byQuery = repository.find(Query.prefix(EmployeeRepository.LAST_NAME, "wo"), PageRequest.of(2));
+
+            // Then
+            assertEquals(expected, paged);
+            assertEquals(2, byQuery.getContent().size());
+            assertTrue(byQuery.hasNext());
+            assertThrows(ValidationException.class, () -> repository.find(Map.of(),
+                    PageRequest.of(2).sortBy(EmployeeRepository.LAST_NAME, true).after("not-a-cursor")));
+        }
+    }
+
+    private EmployeeRepository newRepository(RepositoryOptions options) {
+        return new EmployeeRepository(directory.resolve("internal").toString(), directory.resolve("external").toString(), options);
+    }
+
+    private static List<Person> populate(EmployeeRepository repository) {
+        List<Person> employees = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Person employee = new Person(String.format("%03d", (i * 7) % 40), "John", LAST_NAMES[i % LAST_NAMES.length],
+                    "123456789", "john@example.com", "12345", i % 3 != 0);
+            repository.create(employee);
+            employees.add(employee);
+        }
+        return employees;
+    }
+
+    private static List<String> readAllPages(EmployeeRepository repository, Map<String, String> searchCriteria, PageRequest firstPage) {
+        List<String> personIds = new ArrayList<>();
+        PageRequest request = firstPage;
+        while (true) {
+            Page page = repository.find(searchCriteria, request);
+            assertTrue(page.getContent().size() <= firstPage.getSize());
+            page.getContent().forEach(employee -> personIds.add(employee.getPersonId()));
+            if (!page.hasNext()) {
+                return personIds;
+            }
+            request = request.after(page.getNextCursor());
+        }
+    }
+}
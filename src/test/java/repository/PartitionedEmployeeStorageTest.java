@@ -0,0 +1,125 @@
+package repository;
+
+import org.example.exception.EmployeeRepositoryException;
+import org.example.model.Person;
+import org.example.repository.EmployeeRepository;
+import org.example.repository.LoopbackPartitionTransport;
+import org.example.repository.PartitionNode;
+import org.example.repository.PartitionedEmployeeStorage;
+import org.example.repository.RepositoryOptions;
+import org.example.repository.StaxPersonReader;
+import org.example.repository.XmlFileStorage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PartitionedEmployeeStorageTest {
+
+    private static final List<String> NODES = List.of("node-a", "node-b", "node-c");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testThatRecordsAreSpreadAcrossOwningPartitions() {
+        // Given
+        Map<String, XmlFileStorage> nodeStorages = new HashMap<>();
+        LoopbackPartitionTransport transport = new LoopbackPartitionTransport();
+        for (String node : NODES) {
+            XmlFileStorage storage = new XmlFileStorage(directory.resolve(node).resolve("internal").toString(),
+                    directory.resolve(node).resolve("external").toString(), new StaxPersonReader());
+            nodeStorages.put(node, storage);
+            transport.register(node, new PartitionNode(storage));
+        }
+        PartitionedEmployeeStorage storage = new PartitionedEmployeeStorage(transport, NODES);
+
+        try (EmployeeRepository repository = new EmployeeRepository(storage, RepositoryOptions.defaults())) {
+            // When
+            IntStream.range(0, 300).forEach(i ->
+                    repository.create(new Person(String.valueOf(i), "John", "Doe" + i % 3, null, null, null, i % 2 == 0)));
+            repository.update(new Person("42", "Jane", "Smith", null, null, null, false));
+            repository.delete("7");
+
+            // Then
+            assertEquals(299, storage.size());
+            for (String node : NODES) {
+                int owned = nodeStorages.get(node).size();
+                assertTrue(owned > 50, node + " owns only " + owned + " records");
+                assertTrue(nodeStorages.get(node).personIds().stream().allMatch(id -> storage.ownerOf(id).equals(node)));
+            }
+            assertEquals(List.of("42"), repository.find(Map.of("lastName", "smith")).stream()
+                    .map(Person::getPersonId).collect(Collectors.toList()));
+            assertEquals(99, repository.find(Map.of("lastName", "doe1")).size());
+            assertTrue(storage.contains("42"));
+            assertFalse(storage.contains("7"));
+            assertFalse(repository.getIdRegistry().contains("7"));
+            repository.create(new Person("300", "New", "Hire", null, null, null, false));
+            assertTrue(repository.getIdRegistry().contains("300"));
+            assertEquals(300, storage.personIds().size());
+            EmployeeRepositoryException exception = assertThrows(EmployeeRepositoryException.class,
+                    () -> storage.insert(new Person("42", "Jane", "Smith", null, null, null, false)));
+            assertEquals("Employee with ID 42 already exists.", exception.getMessage());
+        }
+    }
+
+    @Test
+    void testThatUnreachablePartitionFailsRequests() {
+        // Given
+        LoopbackPartitionTransport transport = new LoopbackPartitionTransport();
+        transport.register("node-a", new PartitionNode(new XmlFileStorage(directory.resolve("internal").toString(),
+                directory.resolve("external").toString(), new StaxPersonReader())));
+
+        // When, Then
+        assertThrows(EmployeeRepositoryException.class, () -> new PartitionedEmployeeStorage(transport, List.of("node-a", "node-b")));
+        transport.close();
+    }
+
+    @Test
+    void testThatScansAreStreamedInChunksAndClosedEarly() {
+        // Given
+        List<PartitionNode> nodes = new ArrayList<>();
+        LoopbackPartitionTransport transport = new LoopbackPartitionTransport();
+        for (String node : NODES) {
+            PartitionNode partition = new PartitionNode(new XmlFileStorage(directory.resolve(node).resolve("internal").toString(),
+                    directory.resolve(node).resolve("external").toString(), new StaxPersonReader()));
+            nodes.add(partition);
+            transport.register(node, partition);
+        }
+        PartitionedEmployeeStorage storage = new PartitionedEmployeeStorage(transport, NODES,
+                PartitionedEmployeeStorage.DEFAULT_VIRTUAL_NODES, PartitionedEmployeeStorage.DEFAULT_REQUEST_TIMEOUT, 7);
+        IntStream.range(0, 100).forEach(i -> storage.insert(new Person(String.valueOf(i), "John", "Doe", null, null, null, true)));
+
+        // When
+        List<String> scanned;
+        try (Stream<Person> employees = storage.scan(Collections.emptyMap())) {
+            scanned = employees.map(Person::getPersonId).sorted(Comparator.comparingInt(Integer::parseInt)).collect(Collectors.toList());
+        }
+        try (Stream<Person> employees = storage.scan(Collections.emptyMap())) {
+            assertEquals(10, employees.limit(10).count());
+        }
+
+        // Then
+        assertEquals(IntStream.range(0, 100).mapToObj(String::valueOf).collect(Collectors.toList()), scanned);
+        for (PartitionNode node : nodes) {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (node.getOpenScanCount() > 0 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            assertEquals(0, node.getOpenScanCount());
+        }
+        storage.close();
+    }
+}
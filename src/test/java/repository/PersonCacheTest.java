@@ -0,0 +1,89 @@
+package repository;
+
+import org.example.model.Person;
+import org.example.repository.EmployeeRepository;
+import org.example.repository.PersonCache;
+import org.example.repository.RepositoryOptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PersonCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testThatFillStartedBeforeInvalidationIsDropped() {
+        // Given
+        PersonCache underTest = new PersonCache(10, null);
+        long staleVersion = underTest.version("1");
+        long otherVersion = underTest.version("2");
+
+        // When
+        underTest.invalidate("1");
+        boolean staleFilled = underTest.putIfUnchanged(person("1", "Doe"), staleVersion);
+        boolean otherFilled = underTest.putIfUnchanged(person("2", "Doe"), otherVersion);
+
+        // Then
+        assertFalse(staleFilled);
+        assertNull(underTest.get("1"));
+        assertTrue(otherFilled);
+        assertNotNull(underTest.get("2"));
+        assertTrue(underTest.putIfUnchanged(person("1", "Smith"), underTest.version("1")));
+        assertEquals("Smith", underTest.get("1").getLastName());
+    }
+
+    @Test
+    void testThatLeastRecentlyUsedEntryIsEvicted() {
+        // Given
+        PersonCache underTest = new PersonCache(2, null);
+        underTest.put(person("1", "Doe"));
+        underTest.put(person("2", "Doe"));
+        underTest.get("1");
+
+        // When
+        underTest.put(person("3", "Doe"));
+
+        // Then
+        assertNotNull(underTest.get("1"));
+        assertNull(underTest.get("2"));
+        assertEquals(1, underTest.getEvictionCount());
+        assertEquals(2, underTest.getHitCount());
+        assertEquals(1, underTest.getMissCount());
+    }
+
+    @Test
+    void testThatRepositoryServesPointLookupsFromCacheAndInvalidatesOnUpdate() {
+        // Given
+        try (EmployeeRepository repository = new EmployeeRepository(directory.resolve("internal").toString(),
+                directory.resolve("external").toString(), RepositoryOptions.defaults().cache(100, Duration.ofMinutes(5)))) {
+            repository.create(person("1", "Doe"));
+            PersonCache cache = repository.getCache();
+
+            // When
+            repository.find(Map.of("personId", "1"));
+            repository.find(Map.of("personId", "1", "lastName", "doe"));
+            Person renamed = person("1", "Smith");
+            repository.update(renamed);
+            List<Person> afterUpdate = repository.find(Map.of("personId", "1"));
+
+            // Then
+            assertEquals(List.of(renamed), afterUpdate);
+            assertEquals(1, cache.getHitCount());
+            assertEquals(2, cache.getMissCount());
+            repository.delete("1");
+            assertTrue(repository.find(Map.of("personId", "1")).isEmpty());
+        }
+    }
+
+    private Person person(String personId, String lastName) {
+        return new Person(personId, "John", lastName, "123456789", "john@example.com", "123456789", true);
+    }
+}
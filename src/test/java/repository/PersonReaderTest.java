@@ -0,0 +1,45 @@
+package repository;
+
+import org.example.model.Person;
+import org.example.repository.DomPersonReader;
+import org.example.repository.StaxPersonReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PersonReaderTest {
+
+    private final Path INTERNAL_FILE = Paths.get("src/main/resources/internal/2.xml");
+
+    private StaxPersonReader underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new StaxPersonReader();
+    }
+
+    @Test
+    void testThatStaxReaderMatchesDomReader() {
+        // When
+        List<Person> staxEmployees = underTest.readAll(INTERNAL_FILE);
+        List<Person> domEmployees = new DomPersonReader().readAll(INTERNAL_FILE);
+
+        // Then
+        assertEquals(1, staxEmployees.size());
+        assertEquals(domEmployees, staxEmployees);
+        assertEquals(new Person("2", "cc", "cccc", "555555555", "test@test.pl", "123456789", true), staxEmployees.get(0));
+    }
+
+    @Test
+    void testThatStaxReaderSkipsNonMatchingRecords() {
+        assertTrue(underTest.read(INTERNAL_FILE, Map.of("firstName", "other")).isEmpty());
+        assertTrue(underTest.read(INTERNAL_FILE, Map.of("personId", "3")).isEmpty());
+        assertEquals(1, underTest.read(INTERNAL_FILE, Map.of("firstName", "CC", "lastName", "cccc")).size());
+    }
+}
@@ -0,0 +1,84 @@
+package repository;
+
+import org.example.model.Person;
+import org.example.repository.PersonXmlWriter;
+import org.example.repository.StaxPersonReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PersonXmlWriterTest {
+
+    private final String TEST_DIR_PATH = "src/test/resources/writer";
+
+    private PersonXmlWriter underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new PersonXmlWriter();
+        new File(TEST_DIR_PATH).mkdirs();
+    }
+
+    @Test
+    void testThatSerializedLayoutMatchesTransformerOutput() throws Exception {
+        // Given
+        Person employee = new Person("12", "Jan & \"Janek\"", "<Nowak>", "123456789", "", "90010112345", false);
+
+        // When
+        String serialized = underTest.serialize(employee);
+
+        // Then
+        assertEquals(transform(employee), serialized);
+    }
+
+    @Test
+    void testThatWrittenFileCanBeReadBack() {
+        // Given
+        Person employee = new Person("5", "Zofia", "Łęcka", "123456789", "zofia@example.com", "90010112345", true);
+        Path file = Paths.get(TEST_DIR_PATH, "5.xml");
+
+        // When
+        underTest.write(employee, file);
+        underTest.write(employee, file);
+
+        // Then
+        assertEquals(List.of(employee), new StaxPersonReader().readAll(file));
+        assertTrue(file.toFile().delete());
+    }
+
+    private String transform(Person employee) throws Exception {
+        Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        Element employeeElement = doc.createElement("employee");
+        employeeElement.setAttribute("personId", employee.getPersonId());
+        employeeElement.setAttribute("isInternal", String.valueOf(employee.isInternal()));
+        addElement(doc, employeeElement, "firstName", employee.getFirstName());
+        addElement(doc, employeeElement, "lastName", employee.getLastName());
+        addElement(doc, employeeElement, "mobile", employee.getMobile());
+        addElement(doc, employeeElement, "email", employee.getEmail());
+        addElement(doc, employeeElement, "pesel", employee.getPesel());
+        doc.appendChild(employeeElement);
+
+        StringWriter writer = new StringWriter();
+        TransformerFactory.newInstance().newTransformer().transform(new DOMSource(doc), new StreamResult(writer));
+        return writer.toString();
+    }
+
+    private void addElement(Document doc, Element parentElement, String tagName, String textContent) {
+        Element element = doc.createElement(tagName);
+        element.appendChild(doc.createTextNode(textContent));
+        parentElement.appendChild(element);
+    }
+}
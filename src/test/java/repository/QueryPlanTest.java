@@ -0,0 +1,68 @@
+package repository;
+
+import org.example.model.Person;
+import org.example.repository.QueryPlan;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QueryPlanTest {
+
+    private final Person john = new Person("1", "John", "Doe", "123456789", "john@example.com", "123456789", true);
+
+    @Test
+    void testThatConditionsAreOrderedBySelectivity() {
+        // Given
+        Map<String, String> searchCriteria = new LinkedHashMap<>();
+        searchCriteria.put("isInternal", "true");
+        searchCriteria.put("firstName", "JOHN");
+        searchCriteria.put("pesel", "123456789");
+
+        // When
+        QueryPlan plan = QueryPlan.compile(searchCriteria);
+
+        // Then
+        List<String> order = plan.getConditions().stream()
+                .map(QueryPlan.Condition::getAttributeName)
+                .collect(Collectors.toList());
+        assertEquals(List.of("pesel", "firstName", "isInternal"), order);
+        assertTrue(plan.matches(john));
+        assertFalse(plan.mayMatch("pesel", "987654321"));
+        assertTrue(plan.mayMatch("mobile", "987654321"));
+    }
+
+    @Test
+    void testThatInvalidCriteriaNeverMatch() {
+        // When, Then
+        assertTrue(QueryPlan.compile(Map.of()).isMatchAll());
+        assertTrue(QueryPlan.compile(Map.of("salary", "1000")).isUnsatisfiable());
+        assertTrue(QueryPlan.compile(Map.of("isInternal", "yes")).isUnsatisfiable());
+        assertFalse(QueryPlan.compile(Map.of("isInternal", "false")).matches(john));
+        assertFalse(QueryPlan.compile(Map.of("salary", "1000")).matches(john));
+    }
+
+    @Test
+    void testThatExpectedValuesAreNormalizedOnceAtCompileTime() {
+        // Given
+        QueryPlan plan = QueryPlan.compile(Map.of("lastName", "DoE"));
+        QueryPlan accented = QueryPlan.compile(Map.of("lastName", "ŻÓŁW"));
+
+        // When
+        QueryPlan.Condition condition = plan.getConditions().get(0);
+
+        // Then
+        assertEquals("doe", condition.getExpectedValue());
+        assertTrue(condition.matchesValue("DOE"));
+        assertTrue(condition.matchesValue("doe"));
+        assertFalse(condition.matchesValue("does"));
+        assertFalse(condition.matchesValue("do"));
+        assertFalse(condition.matchesValue(null));
+        assertTrue(accented.getConditions().get(0).matchesValue("żółw"));
+        assertFalse(accented.getConditions().get(0).matchesValue("zolw"));
+    }
+}
@@ -0,0 +1,83 @@
+package repository;
+
+import org.example.exception.ValidationException;
+import org.example.metrics.DefaultMetricsRegistry;
+import org.example.model.Person;
+import org.example.repository.EmployeeRepository;
+import org.example.repository.Query;
+import org.example.repository.RepositoryOptions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QueryTest {
+
+    @TempDir
+    Path directory;
+
+    private final DefaultMetricsRegistry metrics = new DefaultMetricsRegistry();
+    private EmployeeRepository underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new EmployeeRepository(directory.resolve("internal").toString(), directory.resolve("external").toString(),
+                RepositoryOptions.defaults()
+                        .indexedAttributes(EmployeeRepository.LAST_NAME, EmployeeRepository.PESEL, EmployeeRepository.EMAIL_DOMAIN)
+                        .metrics(metrics));
+        underTest.create(new Person("1", "John", "Kowalski", "123456789", "john@acme.com", "85010112345", true));
+        underTest.create(new Person("2", "Jane", "Kowalska", "987654321", "jane@example.com", "90020254321", false));
+        underTest.create(new Person("3", "Adam", "Nowak", "555666777", "adam@ACME.com", "01210398765", true));
+    }
+
+    @AfterEach
+    void tearDown() {
+        underTest.close();
+    }
+
+    @Test
+    void testThatIndexedOperatorsAvoidFullScan() {
+        // When
+        Set<String> byPrefix = ids(underTest.find(Query.prefix(EmployeeRepository.LAST_NAME, "kowal")));
+        Set<String> byDomain = ids(underTest.find(Query.emailDomain("acme.com")));
+        Set<String> byRange = ids(underTest.find(Query.range(EmployeeRepository.PESEL, "85000000000", "99999999999")));
+        Set<String> byAlternative = ids(underTest.find(Query.or(
+                Query.eq(EmployeeRepository.LAST_NAME, "nowak"),
+                Query.and(Query.prefix(EmployeeRepository.LAST_NAME, "Kowal"), Query.eq(EmployeeRepository.FIRST_NAME, "Jane")))));
+
+        // Then
+        assertEquals(Set.of("1", "2"), byPrefix);
+        assertEquals(Set.of("1", "3"), byDomain);
+        assertEquals(Set.of("1", "2"), byRange);
+        assertEquals(Set.of("2", "3"), byAlternative);
+        assertEquals(4, metrics.getCounters().get("repository.find.indexed").get());
+        assertEquals(0, metrics.getCounters().get("repository.find.fullScan").get());
+    }
+
+    @Test
+    void testThatNegationAndUnindexedOperatorsFallBackToScan() {
+        // When
+        Set<String> notInternal = ids(underTest.find(Query.not(Query.eq(EmployeeRepository.IS_INTERNAL, "true"))));
+        Set<String> byMobilePrefix = ids(underTest.find(Query.prefix(EmployeeRepository.MOBILE, "55")));
+
+        // Then
+        assertEquals(Set.of("2"), notInternal);
+        assertEquals(Set.of("3"), byMobilePrefix);
+        assertEquals(2, metrics.getCounters().get("repository.find.fullScan").get());
+        assertThrows(ValidationException.class, () -> Query.eq("salary", "1000"));
+        assertThrows(ValidationException.class, () -> Query.range(EmployeeRepository.PESEL, null, null));
+        assertThrows(ValidationException.class, () -> Query.range(EmployeeRepository.LAST_NAME, "Smith", "doe"));
+        assertEquals(Set.of("3"), ids(underTest.find(Query.range(EmployeeRepository.LAST_NAME, "NOWAK", "nowak"))));
+    }
+
+    private static Set<String> ids(List<Person> employees) {
+        return employees.stream().map(Person::getPersonId).collect(Collectors.toSet());
+    }
+}
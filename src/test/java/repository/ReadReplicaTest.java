@@ -0,0 +1,110 @@
+package repository;
+
+import org.example.exception.EmployeeRepositoryException;
+import org.example.metrics.DefaultMetricsRegistry;
+import org.example.model.Person;
+import org.example.repository.ChangeLog;
+import org.example.repository.EmployeeChangeEvent;
+import org.example.repository.EmployeeRepository;
+import org.example.repository.Query;
+import org.example.repository.ReadReplica;
+import org.example.repository.RepositoryOptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReadReplicaTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testThatChangeLogRecordsMutationsInOrder() {
+        // Given
+        try (EmployeeRepository repository = repository(RepositoryOptions.defaults().changeLog(2))) {
+            // When
+            repository.create(new Person("1", "John", "Doe", null, null, null, true));
+            repository.update(new Person("1", "John", "Smith", null, null, null, true));
+            repository.delete("1");
+
+            // Then
+            ChangeLog changeLog = repository.getChangeLog();
+            assertEquals(3, changeLog.getLatestSequence());
+            assertEquals(2, changeLog.getOldestSequence());
+            List<ChangeLog.Entry> entries = changeLog.readFrom(2, 10);
+            assertEquals(List.of(EmployeeChangeEvent.Type.UPDATED, EmployeeChangeEvent.Type.DELETED),
+                    entries.stream().map(ChangeLog.Entry::getType).collect(Collectors.toList()));
+            assertEquals("Smith", entries.get(0).getEmployee().getLastName());
+            assertNull(entries.get(1).getEmployee());
+            assertTrue(changeLog.readFrom(1, 10).isEmpty());
+        }
+    }
+
+    @Test
+    void testThatReplicaFollowsPrimaryWithBoundedStaleness() {
+        // Given
+        DefaultMetricsRegistry metrics = new DefaultMetricsRegistry();
+        try (EmployeeRepository repository = repository(RepositoryOptions.defaults().changeLog(4).metrics(metrics))) {
+            repository.create(new Person("1", "John", "Doe", "123456789", "john@example.com", null, true));
+
+            try (ReadReplica replica = repository.startReadReplica()) {
+                assertEquals(1, replica.size());
+
+                // When
+                for (int i = 2; i <= 20; i++) {
+                    repository.create(new Person(String.valueOf(i), "Jane", "Smith", null, "jane" + i + "@corp.com", null, false));
+                }
+                repository.update(new Person("1", "John", "Kowalski", "123456789", "john@example.com", null, true));
+                repository.delete("20");
+
+                // Then
+                assertTrue(replica.awaitSequence(repository.getChangeLog().getLatestSequence(), Duration.ofSeconds(5)));
+                List<Person> found = replica.find(Map.of("lastName", "KOWALSKI"), Duration.ofSeconds(5));
+                assertEquals(List.of("1"), found.stream().map(Person::getPersonId).collect(Collectors.toList()));
+                assertEquals(0, replica.getLagEntries());
+                assertEquals(0, replica.getLagMillis());
+                assertEquals(19, replica.size());
+                assertEquals(18, replica.find(Query.emailDomain("corp.com")).size());
+                assertTrue(replica.find(Map.of("lastName", "Doe")).isEmpty());
+                assertTrue(metrics.getHistograms().get("replica.lag.millis").snapshot().getCount() > 0
+                        || metrics.getCounters().get("replica.resync").get() > 1);
+            }
+        }
+    }
+
+    @Test
+    void testThatReplicaRequiresChangeLog() {
+        // Given
+        try (EmployeeRepository repository = repository(RepositoryOptions.defaults())) {
+            // When, Then
+            assertNull(repository.getChangeLog());
+            assertThrows(EmployeeRepositoryException.class, repository::startReadReplica);
+        }
+    }
+
+    private EmployeeRepository repository(RepositoryOptions options) {
+        return new EmployeeRepository(directory.resolve("internal").toString(), directory.resolve("external").toString(), options);
+    }
+
+    @Test
+    void testThatClosingPrimaryStopsItsReplicas() {
+        // Given
+        EmployeeRepository repository = repository(RepositoryOptions.defaults().changeLog(4));
+        ReadReplica replica = repository.startReadReplica();
+        assertTrue(replica.isRunning());
+
+        // When
+        repository.close();
+
+        // Then
+        assertFalse(replica.isRunning());
+        assertFalse(replica.awaitSequence(repository.getChangeLog().getLatestSequence() + 1, Duration.ofSeconds(1)));
+    }
+}
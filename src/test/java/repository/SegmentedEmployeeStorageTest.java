@@ -0,0 +1,148 @@
+package repository;
+
+import org.example.exception.EmployeeRepositoryException;
+import org.example.model.Person;
+import org.example.repository.EmployeeRepository;
+import org.example.repository.RepositoryOptions;
+import org.example.repository.SegmentedEmployeeStorage;
+import org.example.repository.StaxPersonReader;
+import org.example.repository.StorageMigration;
+import org.example.repository.XmlFileStorage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SegmentedEmployeeStorageTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testThatRecordsSurviveReopen() {
+        // Given
+        Person john = new Person("1", "John", "Doe", "123456789", "john@example.com", "123456789", true);
+        Person jane = new Person("2", "Jane", "Smith", "987654321", "jane@example.com", "987654321", false);
+        Person renamed = new Person("1", "John", "Kowalski", "123456789", "john@example.com", "123456789", false);
+        try (SegmentedEmployeeStorage storage = new SegmentedEmployeeStorage(directory)) {
+            storage.insert(john);
+            storage.insert(jane);
+            storage.replace(renamed);
+            storage.remove("2");
+        }
+
+        // When
+        try (SegmentedEmployeeStorage reopened = new SegmentedEmployeeStorage(directory)) {
+
+            // Then
+            assertEquals(1, reopened.size());
+            assertEquals(renamed, reopened.read("1", Collections.emptyMap()));
+            assertNull(reopened.read("2", Collections.emptyMap()));
+            assertThrows(EmployeeRepositoryException.class, () -> reopened.insert(renamed));
+            assertThrows(EmployeeRepositoryException.class, () -> reopened.remove("2"));
+        }
+    }
+
+    @Test
+    void testThatCompactionDropsGarbageAndKeepsLiveRecords() {
+        // Given
+        try (SegmentedEmployeeStorage storage = new SegmentedEmployeeStorage(directory, 256, null)) {
+            for (int i = 0; i < 20; i++) {
+                storage.insert(new Person(String.valueOf(i), "John", "Doe", "123456789", "john@example.com", "123456789", true));
+            }
+            for (int i = 0; i < 20; i += 2) {
+                storage.remove(String.valueOf(i));
+            }
+            int segmentsBefore = storage.segmentCount();
+
+            // When
+            storage.compact();
+
+            // Then
+            assertTrue(storage.segmentCount() < segmentsBefore);
+            try (Stream<Person> employees = storage.scan(Collections.emptyMap())) {
+                assertEquals(10, employees.count());
+            }
+            assertEquals("Doe", storage.read("19", Collections.emptyMap()).getLastName());
+        }
+
+        try (SegmentedEmployeeStorage reopened = new SegmentedEmployeeStorage(directory)) {
+            assertEquals(10, reopened.size());
+            assertNull(reopened.read("0", Collections.emptyMap()));
+        }
+    }
+
+    @Test
+    void testThatCrashAfterCompactionCommitKeepsDeletedRecordsDeleted() throws Exception {
+        // Given
+        try (SegmentedEmployeeStorage storage = new SegmentedEmployeeStorage(directory, 256, null)) {
+            for (int i = 0; i < 20; i++) {
+                storage.insert(new Person(String.valueOf(i), "John", "Doe", "123456789", "john@example.com", "123456789", true));
+            }
+            for (int i = 0; i < 20; i += 2) {
+                storage.remove(String.valueOf(i));
+            }
+        }
+        Path backup = Files.createDirectories(directory.resolve("backup"));
+        List<Path> original = segmentFiles(directory);
+        for (Path file : original) {
+            Files.copy(file, backup.resolve(file.getFileName()));
+        }
+        try (SegmentedEmployeeStorage storage = new SegmentedEmployeeStorage(directory, 256, null)) {
+            storage.compact();
+        }
+        Path compacted = segmentFiles(directory).get(0);
+
+        // When
+        Files.move(compacted, compacted.resolveSibling(compacted.getFileName().toString().replace(".log", ".compacted")));
+        for (Path file : original) {
+            Files.copy(backup.resolve(file.getFileName()), file, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        // Then
+        try (SegmentedEmployeeStorage reopened = new SegmentedEmployeeStorage(directory)) {
+            assertEquals(10, reopened.size());
+            assertNull(reopened.read("0", Collections.emptyMap()));
+            assertEquals("Doe", reopened.read("19", Collections.emptyMap()).getLastName());
+        }
+        assertTrue(segmentFiles(directory).size() < original.size());
+    }
+
+    private static List<Path> segmentFiles(Path directory) throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".log"))
+                    .sorted(Comparator.comparingLong(file -> Long.parseLong(file.getFileName().toString().replaceAll("\\D", ""))))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    void testThatMigrationCopiesXmlRecordsIntoRepositoryBackedBySegments() {
+        // Given
+        XmlFileStorage xmlStorage = new XmlFileStorage(directory.resolve("internal").toString(),
+                directory.resolve("external").toString(), new StaxPersonReader());
+        xmlStorage.insert(new Person("1", "John", "Doe", "123456789", "john@example.com", "123456789", true));
+        xmlStorage.insert(new Person("2", "Jane", "Smith", "987654321", "jane@example.com", "987654321", false));
+
+        // When
+        try (EmployeeRepository repository = new EmployeeRepository(
+                new SegmentedEmployeeStorage(directory.resolve("segments")), RepositoryOptions.defaults())) {
+            int migrated = StorageMigration.migrate(xmlStorage, repository.getStorage());
+
+            // Then
+            assertEquals(2, migrated);
+            List<Person> found = repository.find(Map.of("lastName", "smith"));
+            assertEquals(List.of("2"), found.stream().map(Person::getPersonId).collect(Collectors.toList()));
+        }
+    }
+}
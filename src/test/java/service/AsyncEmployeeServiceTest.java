@@ -0,0 +1,105 @@
+package service;
+
+import org.example.exception.ValidationException;
+import org.example.model.Person;
+import org.example.service.AsyncEmployeeService;
+import org.example.service.EmployeeService;
+import org.example.service.RequestExecutors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+public class AsyncEmployeeServiceTest {
+
+    private EmployeeService employeeService;
+    private AsyncEmployeeService underTest;
+
+    @BeforeEach
+    void setUp() {
+        employeeService = Mockito.mock(EmployeeService.class);
+        underTest = new AsyncEmployeeService(employeeService, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        underTest.close();
+    }
+
+    @Test
+    void testThatOperationsCompleteWithDelegateResults() throws Exception {
+        // Given
+        Person person = new Person("123", "John", "Doe", "123456789", "john@example.com", "12345", true);
+        when(employeeService.find(anyMap())).thenReturn(List.of(person));
+        doThrow(new ValidationException("Invalid employee")).when(employeeService).update(any());
+
+        // When
+        underTest.create(person).get(5, TimeUnit.SECONDS);
+        List<Person> found = underTest.find(Map.of("personId", "123")).get(5, TimeUnit.SECONDS);
+        CompletableFuture<Void> update = underTest.update(person);
+
+        // Then
+        verify(employeeService).create(person);
+        assertEquals(List.of(person), found);
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> update.get(5, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof ValidationException);
+    }
+
+    @Test
+    void testThatConcurrentOperationsAreLimited() throws Exception {
+        // Given
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        doAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            inFlight.decrementAndGet();
+            return null;
+        }).when(employeeService).delete(any());
+
+        // When
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(underTest.delete(String.valueOf(i)));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+
+        // Then
+        verify(employeeService, times(200)).delete(any());
+        assertTrue(maxInFlight.get() <= 4);
+        assertEquals(4, underTest.getAvailablePermits());
+    }
+
+    @Test
+    void testThatPlatformThreadFallbackIsBoundedByPermits() {
+        // Given
+        assumeFalse(RequestExecutors.isVirtualThreadSupported());
+
+        // When
+        ExecutorService executor = RequestExecutors.newPerTaskExecutor(4);
+
+        // Then
+        try {
+            assertTrue(executor instanceof ThreadPoolExecutor);
+            assertEquals(4, ((ThreadPoolExecutor) executor).getMaximumPoolSize());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package service;
 
+import org.example.exception.EmployeeRepositoryException;
 import org.example.exception.ValidationException;
 import org.example.model.Person;
 import org.example.repository.EmployeeRepository;
+import org.example.repository.Query;
+import org.example.service.BulkOperationResult;
 import org.example.service.EmployeeServiceImpl;
 import org.example.validation.EmployeeValidator;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,7 +16,10 @@ import java.io.File;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -105,6 +111,49 @@ public class EmployeeSerivceImplTest {
         verify(employeeRepository, times(0)).find(invalidCriteria);
     }
 
+    @Test
+    void testStreamWithValidSearchCriteria() {
+        // Given
+        Map<String, String> searchCriteria = new HashMap<>();
+        searchCriteria.put("isInternal", "false");
+        when(employeeRepository.stream(searchCriteria)).thenReturn(Stream.empty());
+
+        // When
+        Stream<Person> result = underTest.stream(searchCriteria);
+
+        // Then
+        assertEquals(0, result.count());
+        verify(employeeValidator, times(1)).validateSearchCriteria(searchCriteria);
+        verify(employeeRepository, times(1)).stream(searchCriteria);
+    }
+
+    @Test
+    void testStreamWithInvalidSearchCriteria() {
+        // Given
+        Map<String, String> invalidCriteria = new HashMap<>();
+        invalidCriteria.put("s", "1");
+        doThrow(new ValidationException("Invalid employee data")).when(employeeValidator).validateSearchCriteria(invalidCriteria);
+
+        // When, Then
+        assertThrows(ValidationException.class, () -> underTest.stream(invalidCriteria));
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    void testFindWithQuery() {
+        // Given
+        Person person = new Person("123", "John", "Kowalski", "123456789", "john@example.com", "12345", true);
+        Query query = Query.or(Query.prefix("lastName", "kowal"), Query.emailDomain("example.com"));
+        when(employeeRepository.find(query)).thenReturn(List.of(person));
+
+        // When
+        List<Person> result = underTest.find(query);
+
+        // Then
+        assertEquals(List.of(person), result);
+        verify(employeeValidator, times(1)).validateQuery(query);
+    }
+
     @Test
     void testDeleteWithValidPersonId() {
         // Given
@@ -166,6 +215,63 @@ public class EmployeeSerivceImplTest {
     }
 
 
+    @Test
+    void testCreateAllReportsPerRecordResults() {
+        // Given
+        Person valid = new Person("1", "John", "Doe", "123456789", "john@example.com", "123456789", true);
+        Person duplicateInBatch = new Person("1", "Jane", "Doe", "123456789", "jane@example.com", "123456789", true);
+        Person alreadyStored = new Person("2", "Jan", "Nowak", "123456789", "jan@example.com", "123456789", false);
+        Person invalid = new Person("3", null, "Doe", "123456789", "john@example.com", "123456789", true);
+        doThrow(new ValidationException("Incorrect employee data.")).when(employeeValidator).validateEmployee(invalid);
+        when(employeeRepository.existingIds(any())).thenReturn(Set.of("2"));
+
+        // When
+        BulkOperationResult result = underTest.createAll(List.of(valid, duplicateInBatch, alreadyStored, invalid));
+
+        // Then
+        assertEquals(1, result.getSuccessCount());
+        assertTrue(result.getItems().get(0).isSuccess());
+        assertEquals("Duplicate employee ID in batch.", result.getItems().get(1).getErrorMessage());
+        assertEquals("An employee with the specified ID already exists.", result.getItems().get(2).getErrorMessage());
+        assertEquals("Incorrect employee data.", result.getItems().get(3).getErrorMessage());
+        verify(employeeRepository, times(1)).existingIds(any());
+        verify(employeeRepository, times(1)).create(valid);
+        verify(employeeValidator, never()).isPersonIdUnique(anyString());
+    }
+
+    @Test
+    void testUpdateAllCollectsRepositoryFailures() {
+        // Given
+        Person first = new Person("1", "John", "Doe", "123456789", "john@example.com", "123456789", true);
+        Person second = new Person("2", "Jane", "Doe", "123456789", "jane@example.com", "123456789", false);
+        when(employeeRepository.existingIds(any())).thenReturn(Set.of("1", "2"));
+        doThrow(new EmployeeRepositoryException("disk full")).when(employeeRepository).update(second);
+
+        // When
+        BulkOperationResult result = underTest.updateAll(List.of(first, second));
+
+        // Then
+        assertTrue(result.getItems().get(0).isSuccess());
+        assertEquals("disk full", result.getItems().get(1).getErrorMessage());
+        verify(employeeRepository, times(1)).update(first);
+    }
+
+    @Test
+    void testDeleteAllSkipsMissingIds() {
+        // Given
+        when(employeeRepository.existingIds(any())).thenReturn(Set.of("1"));
+
+        // When
+        BulkOperationResult result = underTest.deleteAll(List.of("1", "2"));
+
+        // Then
+        assertEquals(1, result.getSuccessCount());
+        assertEquals("2", result.getFailures().get(0).getPersonId());
+        verify(employeeRepository, times(1)).delete("1");
+        verify(employeeRepository, never()).delete("2");
+    }
+
+
     private void deleteDirectoryContents(String directoryPath) {
         File directory = new File(directoryPath);
         File[] files = directory.listFiles();
@@ -2,10 +2,14 @@ package validator;
 
 import org.example.exception.ValidationException;
 import org.example.model.Person;
+import org.example.repository.EmployeeRepository;
 import org.example.validation.EmployeeValidator;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -13,10 +17,22 @@ import static org.junit.jupiter.api.Assertions.*;
 
 public class EmployeeValidatorTest {
 
+    @TempDir
+    Path directory;
+
+    private EmployeeRepository repository;
     private EmployeeValidator underTest;
+
     @BeforeEach
     void setUp() {
-        underTest = new EmployeeValidator();
+        repository = new EmployeeRepository(directory.resolve("internal").toString(), directory.resolve("external").toString());
+        repository.create(new Person("1", "John", "Doe", "123456789", "john@example.com", "123456789", true));
+        underTest = new EmployeeValidator(repository.getIdRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
     }
 
     @Test
@@ -42,6 +58,20 @@ public class EmployeeValidatorTest {
         assertTrue(underTest.isPersonIdUnique("nonExistingPersonId"));
     }
 
+    @Test
+    void isPersonIdUnique_UsesRepositoryRegistry() {
+        for (int i = 0; i < 3000; i++) {
+            repository.create(new Person("id-" + i, "John", "Doe", "123456789", "john@example.com", "123456789", i % 2 == 0));
+        }
+
+        for (int i = 0; i < 3000; i++) {
+            assertFalse(underTest.isPersonIdUnique("id-" + i));
+        }
+        assertTrue(underTest.isPersonIdUnique("2"));
+        repository.delete("id-7");
+        assertTrue(underTest.isPersonIdUnique("id-7"));
+    }
+
     @Test
     void validateSearchCriteria_NullCriteria_ThrowsValidationException() {
         assertThrows(ValidationException.class, () -> underTest.validateSearchCriteria(null));